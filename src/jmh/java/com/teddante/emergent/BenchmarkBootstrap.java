@@ -0,0 +1,83 @@
+package com.teddante.emergent;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagGroupLoader;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings up the vanilla registries (blocks, items) without a server, so
+ * benchmarks can build synthetic grids and inventories.
+ *
+ * Tags are normally bound by a server's data pack reload; the mod's explosive
+ * item tags are bound here from its own tag files so isIn() answers as it
+ * does in game.
+ */
+final class BenchmarkBootstrap {
+
+    private static boolean initialized;
+
+    private BenchmarkBootstrap() {
+    } // Utility class
+
+    static synchronized void init() {
+        if (initialized)
+            return;
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        bindItemTags();
+        initialized = true;
+    }
+
+    private static void bindItemTags() {
+        Map<TagKey<Item>, List<RegistryEntry<Item>>> tags = new HashMap<>();
+        for (TagKey<Item> tag : List.of(VolatileExplosionUtils.VOLATILE_EXPLOSIVES,
+                VolatileExplosionUtils.HIGH_EXPLOSIVES, VolatileExplosionUtils.LOW_EXPLOSIVES)) {
+            tags.put(tag, readTag(tag.id()));
+        }
+        Registries.ITEM.startTagReload(new TagGroupLoader.RegistryTags<>(RegistryKeys.ITEM, tags)).apply();
+    }
+
+    /**
+     * Read an item tag file from the classpath, resolving #tag references.
+     */
+    private static List<RegistryEntry<Item>> readTag(Identifier id) {
+        String path = "/data/" + id.getNamespace() + "/tags/item/" + id.getPath() + ".json";
+        InputStream stream = BenchmarkBootstrap.class.getResourceAsStream(path);
+        if (stream == null)
+            throw new IllegalStateException("Missing tag file " + path);
+
+        List<RegistryEntry<Item>> entries = new ArrayList<>();
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            for (JsonElement value : JsonParser.parseReader(reader).getAsJsonObject().getAsJsonArray("values")) {
+                String name = value.getAsString();
+                if (name.startsWith("#")) {
+                    entries.addAll(readTag(Identifier.of(name.substring(1))));
+                } else {
+                    entries.add(Registries.ITEM.getEntry(Identifier.of(name)).orElseThrow());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entries;
+    }
+}
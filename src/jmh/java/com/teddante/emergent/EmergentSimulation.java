@@ -0,0 +1,207 @@
+package com.teddante.emergent;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Headless simulation harness. Seeds a scenario on a synthetic block grid
+ * and steps ticks as fast as possible, then reports tick time percentiles,
+ * block updates per tick and allocation per tick.
+ *
+ * Run with ./gradlew simulate, or pick scenarios and length with
+ * ./gradlew simulate --args="dam_break 600".
+ *
+ * Each scenario runs the mod's real classes through a grid world:
+ * dam_break drives the WaterSolver through a GridWaterWorld, fire the
+ * FlammabilityCache and WildfireManager through a GridFireWorld (which stands
+ * in for vanilla fire ticks), and chest_chain the ChainReaction,
+ * VolatileContainerIndex and VolatileSummary through a GridExplosionWorld.
+ * FireTrailEmitter is not covered: it follows live entities.
+ */
+public final class EmergentSimulation {
+
+    private EmergentSimulation() {
+    } // Main class
+
+    interface Scenario {
+        /**
+         * Advance one game tick and return the number of block writes.
+         */
+        int tick();
+    }
+
+    public static void main(String[] args) {
+        BenchmarkBootstrap.init();
+
+        List<String> names = new ArrayList<>();
+        int ticks = 600;
+        for (String arg : args) {
+            if (arg.chars().allMatch(Character::isDigit)) {
+                ticks = Integer.parseInt(arg);
+            } else {
+                names.add(arg.toLowerCase(Locale.ROOT));
+            }
+        }
+        if (names.isEmpty()) {
+            names = List.of("dam_break", "fire", "chest_chain");
+        }
+
+        for (String name : names) {
+            Scenario scenario = switch (name) {
+                case "dam_break" -> damBreak();
+                case "fire" -> forestFire();
+                case "chest_chain" -> chestChain();
+                default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+            };
+
+            TickStats stats = new TickStats(ticks);
+            for (int i = 0; i < ticks; i++) {
+                stats.begin();
+                int updates = scenario.tick();
+                stats.end(updates);
+            }
+            System.out.println(stats.report(name));
+        }
+    }
+
+    /**
+     * A 24 x 12 x 96 reservoir behind a stone dam in a 96 x 24 x 96 basin.
+     * The dam is removed on the first tick.
+     */
+    static Scenario damBreak() {
+        GridWaterWorld grid = new GridWaterWorld(96, 24, 96);
+        WaterSolver solver = new WaterSolver(grid);
+        BlockState stone = Blocks.STONE.getDefaultState();
+        BlockState water = Blocks.WATER.getDefaultState();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        for (int z = 0; z < grid.sizeZ; z++) {
+            for (int x = 0; x < grid.sizeX; x++) {
+                for (int y = 0; y < 4; y++) {
+                    grid.set(x, y, z, stone);
+                }
+                for (int y = 4; y < 16; y++) {
+                    if (x < 24) {
+                        grid.set(x, y, z, water);
+                    } else if (x == 24) {
+                        grid.set(x, y, z, stone);
+                    }
+                }
+            }
+        }
+
+        return new Scenario() {
+            private boolean broken;
+
+            @Override
+            public int tick() {
+                if (!this.broken) {
+                    this.broken = true;
+                    for (int z = 0; z < grid.sizeZ; z++) {
+                        for (int y = 4; y < 16; y++) {
+                            grid.set(24, y, z, Blocks.AIR.getDefaultState());
+                            // The block update from the dam breaking wakes the water face
+                            solver.wake(pos.set(23, y, z));
+                        }
+                    }
+                }
+                solver.tick();
+                return grid.takeUpdates();
+            }
+        };
+    }
+
+    /**
+     * A 128 x 128 oak forest (a tree every 4 blocks) on dirt, lit at one
+     * corner on the first tick. Big enough to fill the 64 x 64 wildfire
+     * regions, so the cap, the deferred ignitions and the interior burnout
+     * all run.
+     */
+    static Scenario forestFire() {
+        GridFireWorld grid = new GridFireWorld(128, 16, 128);
+        BlockState dirt = Blocks.DIRT.getDefaultState();
+        BlockState log = Blocks.OAK_LOG.getDefaultState();
+        BlockState leaves = Blocks.OAK_LEAVES.getDefaultState();
+
+        for (int z = 0; z < grid.sizeZ; z++) {
+            for (int x = 0; x < grid.sizeX; x++) {
+                grid.set(x, 0, z, dirt);
+            }
+        }
+        for (int treeZ = 1; treeZ < grid.sizeZ - 1; treeZ += 4) {
+            for (int treeX = 1; treeX < grid.sizeX - 1; treeX += 4) {
+                for (int y = 3; y <= 5; y++) {
+                    for (int z = treeZ - 1; z <= treeZ + 1; z++) {
+                        for (int x = treeX - 1; x <= treeX + 1; x++) {
+                            grid.set(x, y, z, leaves);
+                        }
+                    }
+                }
+                for (int y = 1; y <= 4; y++) {
+                    grid.set(treeX, y, treeZ, log);
+                }
+            }
+        }
+        grid.takeUpdates();
+
+        return new Scenario() {
+            private boolean lit;
+
+            @Override
+            public int tick() {
+                if (!this.lit) {
+                    this.lit = true;
+                    grid.set(1, 6, 1, Blocks.FIRE.getDefaultState());
+                }
+                grid.tick();
+                return grid.takeUpdates();
+            }
+        };
+    }
+
+    /**
+     * A 64 x 64 warehouse of chests two blocks apart, each holding a TNT and
+     * eight gunpowder among cobblestone, set off by one TNT at a corner. Every
+     * blast queues the chests it reaches, neighbours within the merge radius
+     * coalesce, and the chain runs until the warehouse is gone.
+     * Block updates are containers destroyed.
+     */
+    static Scenario chestChain() {
+        GridExplosionWorld grid = new GridExplosionWorld();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        for (int z = 0; z < 64; z++) {
+            for (int x = 0; x < 64; x++) {
+                SimpleInventory chest = new SimpleInventory(27);
+                chest.setStack(0, new ItemStack(Items.TNT, 1));
+                chest.setStack(1, new ItemStack(Items.GUNPOWDER, 8));
+                for (int slot = 2; slot < chest.size(); slot++) {
+                    chest.setStack(slot, new ItemStack(Items.COBBLESTONE, 64));
+                }
+                grid.addContainer(pos.set(x * 2, 64, z * 2), chest);
+            }
+        }
+
+        return new Scenario() {
+            private boolean lit;
+
+            @Override
+            public int tick() {
+                if (!this.lit) {
+                    this.lit = true;
+                    grid.chainReactions.enqueue(-1.5, 64.5, -1.5, 1.0, "tnt");
+                }
+                grid.chainReactions.tick();
+                return grid.takeUpdates();
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.teddante.emergent;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.BlockView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Momentum raycast from ErosionPhysics against a synthetic river bed: a
+ * 32^3 grid with stone below y=12, a 6 block deep water channel above it and
+ * air on top. One op is one raycast from a random water cell.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErosionRaycastBenchmark {
+
+    private static final int SIZE = 32;
+    private static final int SAMPLES = 1024;
+
+    private GridView grid;
+    private BlockPos[] origins;
+    private Vec3d[] velocities;
+    private int next;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.init();
+
+        BlockState[] states = new BlockState[SIZE * SIZE * SIZE];
+        for (int y = 0; y < SIZE; y++) {
+            BlockState state = y < 12 ? Blocks.STONE.getDefaultState()
+                    : y < 18 ? Blocks.WATER.getDefaultState() : Blocks.AIR.getDefaultState();
+            for (int z = 0; z < SIZE; z++) {
+                for (int x = 0; x < SIZE; x++) {
+                    states[(y * SIZE + z) * SIZE + x] = state;
+                }
+            }
+        }
+        this.grid = new GridView(states);
+
+        Random random = new Random(42);
+        this.origins = new BlockPos[SAMPLES];
+        this.velocities = new Vec3d[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            this.origins[i] = new BlockPos(8 + random.nextInt(16), 12 + random.nextInt(6), 8 + random.nextInt(16));
+            // Mostly downstream with a downward component, like a real current
+            this.velocities[i] = new Vec3d(random.nextDouble() * 0.5 + 0.2, -random.nextDouble() * 0.4,
+                    random.nextDouble() * 0.2 - 0.1);
+        }
+    }
+
+    @Benchmark
+    public void raycast(Blackhole blackhole) {
+        int i = this.next++ & (SAMPLES - 1);
+        blackhole.consume(ErosionPhysics.findImpact(this.grid, this.origins[i], this.velocities[i]));
+    }
+
+    /**
+     * Flat array block grid, air outside the bounds.
+     */
+    private static final class GridView implements BlockView {
+        private final BlockState[] states;
+
+        private GridView(BlockState[] states) {
+            this.states = states;
+        }
+
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return null;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            int x = pos.getX();
+            int y = pos.getY();
+            int z = pos.getZ();
+            if (x < 0 || y < 0 || z < 0 || x >= SIZE || y >= SIZE || z >= SIZE)
+                return Blocks.AIR.getDefaultState();
+            return this.states[(y * SIZE + z) * SIZE + x];
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return getBlockState(pos).getFluidState();
+        }
+
+        @Override
+        public int getHeight() {
+            return SIZE;
+        }
+
+        @Override
+        public int getBottomY() {
+            return 0;
+        }
+    }
+}
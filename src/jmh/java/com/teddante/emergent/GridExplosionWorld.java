@@ -0,0 +1,90 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * ExplosionWorld over a set of containers, for running the real
+ * ChainReaction, VolatileContainerIndex and VolatileSummary without a server.
+ *
+ * A blast finds its containers the way ExplosionMixin does, through the
+ * index, with the rays' reach approximated as a sphere. Every container it
+ * reaches is handed to tryExplodeVolatileContainer and then destroyed.
+ */
+final class GridExplosionWorld implements ExplosionWorld {
+
+    // Same reach as ExplosionMixin
+    private static final double REACH_PER_POWER = 1.3 / 0.225 * 0.3;
+
+    private record Container(SimpleInventory inventory, VolatileSummary summary) {
+    }
+
+    final ChainReaction chainReactions = new ChainReaction(this);
+    private final VolatileContainerIndex index = new VolatileContainerIndex();
+    private final Long2ObjectOpenHashMap<Container> containers = new Long2ObjectOpenHashMap<>();
+    private final LongArrayList candidates = new LongArrayList();
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+
+    // Containers destroyed since the last call to takeUpdates()
+    private int updates;
+
+    /**
+     * Place a container, indexing it if it holds explosives (as the block
+     * entity load event does in game).
+     */
+    void addContainer(BlockPos pos, SimpleInventory inventory) {
+        Container container = new Container(inventory, new VolatileSummary());
+        this.containers.put(pos.asLong(), container);
+        if (container.summary().mayDetonate(inventory)) {
+            this.index.add(pos);
+        }
+    }
+
+    int takeUpdates() {
+        int updates = this.updates;
+        this.updates = 0;
+        return updates;
+    }
+
+    @Override
+    public boolean isChunkLoaded(int chunkX, int chunkZ) {
+        return true;
+    }
+
+    @Override
+    public void createExplosion(double x, double y, double z, float power, String source) {
+        int reach = MathHelper.ceil(power * REACH_PER_POWER);
+        int centerX = MathHelper.floor(x);
+        int centerY = MathHelper.floor(y);
+        int centerZ = MathHelper.floor(z);
+        this.index.collect(centerX - reach, centerY - reach, centerZ - reach, centerX + reach, centerY + reach,
+                centerZ + reach, this.candidates);
+
+        double reachSq = (double) reach * reach;
+        for (int i = 0; i < this.candidates.size(); i++) {
+            long key = this.candidates.getLong(i);
+            BlockPos pos = this.cursor.set(key);
+            double dx = pos.getX() + 0.5 - x;
+            double dy = pos.getY() + 0.5 - y;
+            double dz = pos.getZ() + 0.5 - z;
+            if (dx * dx + dy * dy + dz * dz > reachSq)
+                continue;
+            Container container = this.containers.remove(key);
+            this.index.remove(pos);
+            this.updates++;
+            if (container != null) {
+                VolatileExplosionUtils.tryExplodeVolatileContainer(container.inventory(), container.summary(),
+                        pos.toImmutable(), this.chainReactions);
+            }
+        }
+        this.candidates.clear();
+    }
+
+    @Override
+    public void onLost(double x, double y, double z, double tntEquivalent, String source) {
+        // Every chunk is loaded and nothing stops, so nothing is ever lost
+    }
+}
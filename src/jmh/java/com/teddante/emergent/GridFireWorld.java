@@ -0,0 +1,299 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.FireBlock;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+import java.util.Random;
+
+/**
+ * FireWorld over a flat block array, for running the real FlammabilityCache
+ * and WildfireManager without a server. Everything outside the box reads as
+ * air in an unloaded chunk.
+ *
+ * Fire itself is vanilla FireBlock, which needs a server, so the grid stands
+ * in for it: block changes reach the cache and the manager as they do
+ * through ServerWorldMixin, and fire blocks get scheduled ticks that follow
+ * FireBlock.scheduledTick for a dry overworld forest on normal difficulty,
+ * with the hooks FireBlockMixin adds (onFireTick first, deferIgnition before
+ * spreading into a block, no air spread into a full region, spread age 0).
+ */
+final class GridFireWorld implements FireWorld {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // Scheduled ticks are 30-39 ticks out, so 64 slots never wrap onto a pending one
+    private static final int SCHEDULE_SLOTS = 64;
+
+    final int sizeX;
+    final int sizeY;
+    final int sizeZ;
+    final FlammabilityCache flammability = new FlammabilityCache(this);
+    final WildfireManager wildfires = new WildfireManager(this, this.flammability);
+
+    private final BlockState[] states;
+    // Burnable blocks per section, so Section.mayBurn is one lookup like the palette check
+    private final int[] burnableCounts;
+    private final GridSection[] sections;
+    private final LongArrayList[] scheduled = new LongArrayList[SCHEDULE_SLOTS];
+    private final Random random = new Random(0);
+    private long time;
+
+    private final BlockPos.Mutable changed = new BlockPos.Mutable();
+    private final BlockPos.Mutable fire = new BlockPos.Mutable();
+    private final BlockPos.Mutable below = new BlockPos.Mutable();
+    private final BlockPos.Mutable target = new BlockPos.Mutable();
+    private final BlockPos.Mutable neighbor = new BlockPos.Mutable();
+
+    // Block writes since the last call to takeUpdates()
+    private int updates;
+
+    GridFireWorld(int sizeX, int sizeY, int sizeZ) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.states = new BlockState[sizeX * sizeY * sizeZ];
+        java.util.Arrays.fill(this.states, Blocks.AIR.getDefaultState());
+        int sectionCount = (sizeX >> 4) * (sizeY >> 4) * (sizeZ >> 4);
+        this.burnableCounts = new int[sectionCount];
+        this.sections = new GridSection[sectionCount];
+        for (int i = 0; i < SCHEDULE_SLOTS; i++) {
+            this.scheduled[i] = new LongArrayList();
+        }
+    }
+
+    /**
+     * Change a block, notifying the cache and the manager. New fire gets a
+     * scheduled tick.
+     */
+    void set(int x, int y, int z, BlockState state) {
+        int index = index(x, y, z);
+        BlockState old = this.states[index];
+        if (old == state)
+            return;
+        this.states[index] = state;
+        this.updates++;
+        if (old.isBurnable() != state.isBurnable()) {
+            this.burnableCounts[sectionIndex(x >> 4, y >> 4, z >> 4)] += state.isBurnable() ? 1 : -1;
+        }
+
+        BlockPos pos = this.changed.set(x, y, z);
+        this.flammability.onBlockChanged(pos, old, state);
+        this.wildfires.onBlockChanged(pos, old, state);
+        if (state.isOf(Blocks.FIRE) && !old.isOf(Blocks.FIRE)) {
+            schedule(pos.asLong());
+        }
+    }
+
+    int takeUpdates() {
+        int updates = this.updates;
+        this.updates = 0;
+        return updates;
+    }
+
+    /**
+     * One game tick: the fire blocks due now, then the wildfire manager.
+     */
+    void tick() {
+        LongArrayList due = this.scheduled[(int) (this.time % SCHEDULE_SLOTS)];
+        for (int i = 0; i < due.size(); i++) {
+            tickFire(due.getLong(i));
+        }
+        due.clear();
+        this.wildfires.tick();
+        this.time++;
+    }
+
+    @Override
+    public boolean isChunkLoaded(int chunkX, int chunkZ) {
+        return chunkX >= 0 && chunkZ >= 0 && chunkX < this.sizeX >> 4 && chunkZ < this.sizeZ >> 4;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        if (!contains(x, y, z))
+            return Blocks.AIR.getDefaultState();
+        return this.states[index(x, y, z)];
+    }
+
+    @Override
+    public Section getSection(int sectionX, int sectionY, int sectionZ) {
+        if (sectionX < 0 || sectionY < 0 || sectionZ < 0 || sectionX >= this.sizeX >> 4
+                || sectionY >= this.sizeY >> 4 || sectionZ >= this.sizeZ >> 4)
+            return null;
+        int index = sectionIndex(sectionX, sectionY, sectionZ);
+        if (this.sections[index] == null) {
+            this.sections[index] = new GridSection(index, sectionX << 4, sectionY << 4, sectionZ << 4);
+        }
+        return this.sections[index];
+    }
+
+    @Override
+    public int getBottomSectionCoord() {
+        return 0;
+    }
+
+    @Override
+    public int getTopSectionCoord() {
+        return (this.sizeY - 1) >> 4;
+    }
+
+    @Override
+    public boolean isInfiniburn(BlockState state) {
+        return false; // No netherrack in the forest
+    }
+
+    @Override
+    public void removeFire(BlockPos pos) {
+        set(pos.getX(), pos.getY(), pos.getZ(), Blocks.AIR.getDefaultState());
+    }
+
+    @Override
+    public void spreadFire(BlockPos pos, int spreadChance) {
+        trySpreadingFire(pos, spreadChance, 0);
+    }
+
+    private void schedule(long pos) {
+        this.scheduled[(int) ((this.time + 30 + this.random.nextInt(10)) % SCHEDULE_SLOTS)].add(pos);
+    }
+
+    private void tickFire(long key) {
+        BlockPos pos = this.fire.set(key);
+        BlockState state = getBlockState(pos);
+        if (!state.isOf(Blocks.FIRE))
+            return;
+        if (this.wildfires.onFireTick(pos))
+            return;
+        schedule(key);
+
+        BlockState ground = getBlockState(this.below.set(pos, Direction.DOWN));
+        int age = state.get(FireBlock.AGE);
+        int newAge = Math.min(15, age + this.random.nextInt(3) / 2);
+        if (newAge != age) {
+            set(pos.getX(), pos.getY(), pos.getZ(), state.with(FireBlock.AGE, newAge));
+        }
+
+        // Burnout
+        if (!this.flammability.isNextToBurnable(pos)) {
+            if (ground.isAir() || age > 3) {
+                removeFire(pos);
+            }
+            return;
+        }
+        if (age == 15 && this.random.nextInt(4) == 0 && !ground.isBurnable()) {
+            removeFire(pos);
+            return;
+        }
+
+        // Into burning blocks; the mod pins the age passed here to 0
+        for (Direction direction : DIRECTIONS) {
+            trySpreadingFire(this.neighbor.set(pos, direction), direction.getAxis() == Direction.Axis.Y ? 250 : 300,
+                    0);
+        }
+
+        // Into the air around burning blocks
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                for (int dy = -1; dy <= 4; dy++) {
+                    if (dx == 0 && dy == 0 && dz == 0)
+                        continue;
+                    int bound = dy > 1 ? 100 + (dy - 1) * 100 : 100;
+                    BlockPos air = this.target.set(pos.getX() + dx, pos.getY() + dy, pos.getZ() + dz);
+                    int chance = airSpreadChance(air);
+                    if (chance <= 0)
+                        continue;
+                    // Normal difficulty
+                    int odds = (chance + 40 + 2 * 7) / (age + 30);
+                    if (odds > 0 && this.random.nextInt(bound) <= odds) {
+                        set(air.getX(), air.getY(), air.getZ(), Blocks.FIRE.getDefaultState()
+                                .with(FireBlock.AGE, Math.min(15, age + this.random.nextInt(5) / 4)));
+                    }
+                }
+            }
+        }
+    }
+
+    private void trySpreadingFire(BlockPos pos, int spreadFactor, int age) {
+        if (this.wildfires.deferIgnition(pos, spreadFactor))
+            return;
+        if (this.random.nextInt(spreadFactor) >= burnChance(getBlockState(pos)))
+            return;
+        if (this.random.nextInt(age + 10) < 5) {
+            set(pos.getX(), pos.getY(), pos.getZ(),
+                    Blocks.FIRE.getDefaultState().with(FireBlock.AGE, Math.min(15, age + this.random.nextInt(5) / 4)));
+        } else {
+            set(pos.getX(), pos.getY(), pos.getZ(), Blocks.AIR.getDefaultState());
+        }
+    }
+
+    /**
+     * FireBlock.getSpreadChance(WorldView, BlockPos) with the region check
+     * FireBlockMixin puts in front of it.
+     */
+    private int airSpreadChance(BlockPos pos) {
+        if (!contains(pos.getX(), pos.getY(), pos.getZ()) || this.wildfires.isRegionFull(pos))
+            return 0;
+        if (!getBlockState(pos).isAir())
+            return 0;
+        int chance = 0;
+        for (Direction direction : DIRECTIONS) {
+            chance = Math.max(chance, spreadChance(getBlockState(this.neighbor.set(pos, direction))));
+        }
+        return chance;
+    }
+
+    // Vanilla's FireBlock flammability for the blocks the forest is built from
+
+    private static int burnChance(BlockState state) {
+        if (state.isOf(Blocks.OAK_LEAVES))
+            return 60;
+        return state.isOf(Blocks.OAK_LOG) ? 5 : 0;
+    }
+
+    private static int spreadChance(BlockState state) {
+        if (state.isOf(Blocks.OAK_LEAVES))
+            return 30;
+        return state.isOf(Blocks.OAK_LOG) ? 5 : 0;
+    }
+
+    private boolean contains(int x, int y, int z) {
+        return x >= 0 && y >= 0 && z >= 0 && x < this.sizeX && y < this.sizeY && z < this.sizeZ;
+    }
+
+    private int index(int x, int y, int z) {
+        return (y * this.sizeZ + z) * this.sizeX + x;
+    }
+
+    private int sectionIndex(int sectionX, int sectionY, int sectionZ) {
+        return (sectionY * (this.sizeZ >> 4) + sectionZ) * (this.sizeX >> 4) + sectionX;
+    }
+
+    private final class GridSection implements Section {
+        private final int index;
+        private final int baseX;
+        private final int baseY;
+        private final int baseZ;
+
+        GridSection(int index, int baseX, int baseY, int baseZ) {
+            this.index = index;
+            this.baseX = baseX;
+            this.baseY = baseY;
+            this.baseZ = baseZ;
+        }
+
+        @Override
+        public boolean mayBurn() {
+            return GridFireWorld.this.burnableCounts[this.index] > 0;
+        }
+
+        @Override
+        public BlockState getBlockState(int x, int y, int z) {
+            return GridFireWorld.this.states[index(this.baseX + x, this.baseY + y, this.baseZ + z)];
+        }
+    }
+}
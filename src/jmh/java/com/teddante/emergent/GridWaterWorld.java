@@ -0,0 +1,76 @@
+package com.teddante.emergent;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * WaterWorld over a flat block array, for running the real WaterSolver
+ * without a server. Everything outside the box reads as stone.
+ */
+final class GridWaterWorld implements WaterWorld {
+
+    final int sizeX;
+    final int sizeY;
+    final int sizeZ;
+    private final BlockState[] states;
+
+    // Block writes since the last call to takeUpdates()
+    private int updates;
+
+    GridWaterWorld(int sizeX, int sizeY, int sizeZ) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.states = new BlockState[sizeX * sizeY * sizeZ];
+        java.util.Arrays.fill(this.states, Blocks.AIR.getDefaultState());
+    }
+
+    void set(int x, int y, int z, BlockState state) {
+        this.states[index(x, y, z)] = state;
+    }
+
+    int takeUpdates() {
+        int updates = this.updates;
+        this.updates = 0;
+        return updates;
+    }
+
+    @Override
+    public boolean isChunkLoaded(int chunkX, int chunkZ) {
+        return true;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        if (x < 0 || y < 0 || z < 0 || x >= this.sizeX || y >= this.sizeY || z >= this.sizeZ)
+            return Blocks.STONE.getDefaultState();
+        return this.states[index(x, y, z)];
+    }
+
+    @Override
+    public void setWaterLevel(BlockPos pos, int level) {
+        BlockState newState = WaterPhysics.withWaterLevel(getBlockState(pos), level);
+        if (newState != null) {
+            set(pos.getX(), pos.getY(), pos.getZ(), newState);
+            this.updates++;
+        }
+    }
+
+    @Override
+    public int getBottomSectionCoord() {
+        return 0;
+    }
+
+    @Override
+    public int getTopSectionCoord() {
+        return (this.sizeY - 1) >> 4;
+    }
+
+    private int index(int x, int y, int z) {
+        return (y * this.sizeZ + z) * this.sizeX + x;
+    }
+}
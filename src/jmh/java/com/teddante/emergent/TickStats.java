@@ -0,0 +1,68 @@
+package com.teddante.emergent;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Per-tick measurements for one simulation run: wall time, block updates
+ * and bytes allocated on the ticking thread.
+ */
+final class TickStats {
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+
+    private final long[] nanos;
+    private final long[] updates;
+    private final long[] allocated;
+    private int ticks;
+
+    private long startNanos;
+    private long startAllocated;
+
+    TickStats(int capacity) {
+        this.nanos = new long[capacity];
+        this.updates = new long[capacity];
+        this.allocated = new long[capacity];
+    }
+
+    void begin() {
+        this.startAllocated = THREADS.getCurrentThreadAllocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    void end(int blockUpdates) {
+        long elapsed = System.nanoTime() - this.startNanos;
+        this.nanos[this.ticks] = elapsed;
+        this.updates[this.ticks] = blockUpdates;
+        this.allocated[this.ticks] = THREADS.getCurrentThreadAllocatedBytes() - this.startAllocated;
+        this.ticks++;
+    }
+
+    String report(String scenario) {
+        long[] sorted = Arrays.copyOf(this.nanos, this.ticks);
+        Arrays.sort(sorted);
+
+        long totalUpdates = 0;
+        long totalAllocated = 0;
+        for (int i = 0; i < this.ticks; i++) {
+            totalUpdates += this.updates[i];
+            totalAllocated += this.allocated[i];
+        }
+
+        return String.format(
+                "%-12s ticks=%d  tick ms p50=%.3f p90=%.3f p99=%.3f max=%.3f  updates/tick=%.1f  alloc/tick=%.1f KiB",
+                scenario, this.ticks,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                this.ticks == 0 ? 0.0 : sorted[this.ticks - 1] / 1e6,
+                this.ticks == 0 ? 0.0 : (double) totalUpdates / this.ticks,
+                this.ticks == 0 ? 0.0 : totalAllocated / 1024.0 / this.ticks);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0)
+            return 0.0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
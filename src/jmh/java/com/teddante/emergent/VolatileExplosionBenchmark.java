@@ -0,0 +1,105 @@
+package com.teddante.emergent;
+
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The volatile container path production runs: the cached VolatileSummary
+ * check that damage and fire handlers make, its rebuild after an inventory
+ * change, and tryExplodeVolatileContainer draining real TNT and gunpowder
+ * into a chain-reaction queue. Item tags are bound by BenchmarkBootstrap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VolatileExplosionBenchmark {
+
+    // Single chest, double chest
+    @Param({ "27", "54" })
+    public int slots;
+
+    private SimpleInventory inventory;
+    private VolatileSummary summary;
+    private double mass;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.init();
+        this.inventory = filled(this.slots);
+        this.summary = new VolatileSummary();
+        this.mass = VolatileExplosionUtils.tntEquivalent(this.inventory.getHeldStacks());
+    }
+
+    /**
+     * Detonating empties the container, so the detonate benchmark gets a full
+     * one and a fresh queue before every call.
+     */
+    @State(Scope.Thread)
+    public static class Loaded {
+        SimpleInventory inventory;
+        VolatileSummary summary;
+        ChainReaction chainReactions;
+
+        @Setup(Level.Invocation)
+        public void refill(VolatileExplosionBenchmark benchmark) {
+            this.inventory = filled(benchmark.slots);
+            this.summary = new VolatileSummary();
+            // Never ticked, so it needs no world
+            this.chainReactions = new ChainReaction(null);
+        }
+    }
+
+    private static SimpleInventory filled(int slots) {
+        SimpleInventory inventory = new SimpleInventory(slots);
+        for (int i = 0; i < slots; i++) {
+            ItemStack stack = switch (i % 3) {
+                case 0 -> new ItemStack(Items.TNT, 64);
+                case 1 -> new ItemStack(Items.GUNPOWDER, 64);
+                default -> new ItemStack(Items.COBBLESTONE, 64);
+            };
+            inventory.setStack(i, stack);
+        }
+        return inventory;
+    }
+
+    @Benchmark
+    public boolean mayDetonateCached() {
+        return this.summary.mayDetonate(this.inventory);
+    }
+
+    @Benchmark
+    public boolean mayDetonateAfterChange() {
+        this.summary.invalidate();
+        return this.summary.mayDetonate(this.inventory);
+    }
+
+    @Benchmark
+    public boolean detonate(Loaded loaded) {
+        return VolatileExplosionUtils.tryExplodeVolatileContainer(loaded.inventory, loaded.summary, BlockPos.ORIGIN,
+                loaded.chainReactions);
+    }
+
+    @Benchmark
+    public float powerFromMass() {
+        return VolatileExplosionUtils.powerFromTntEquivalent(this.mass);
+    }
+}
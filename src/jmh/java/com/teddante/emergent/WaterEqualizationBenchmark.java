@@ -0,0 +1,77 @@
+package com.teddante.emergent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Horizontal equalization kernel over a synthetic flood: a square grid of
+ * random water levels with ~10% walls. One op is one sweep over every cell.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaterEqualizationBenchmark {
+
+    private static final int WALL = -1;
+
+    @Param({ "64", "256" })
+    public int size;
+
+    private int[] grid;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.grid = new int[this.size * this.size];
+        for (int i = 0; i < this.grid.length; i++) {
+            this.grid[i] = random.nextInt(10) == 0 ? WALL : random.nextInt(9);
+        }
+    }
+
+    @Benchmark
+    public int sweep() {
+        int size = this.size;
+        int checksum = 0;
+        for (int z = 1; z < size - 1; z++) {
+            for (int x = 1; x < size - 1; x++) {
+                int level = this.grid[z * size + x];
+                if (level <= 0)
+                    continue;
+
+                int levels = 0;
+                int mask = 0;
+                mask |= neighbor(x, z - 1, 0);
+                mask |= neighbor(x + 1, z, 1);
+                mask |= neighbor(x, z + 1, 2);
+                mask |= neighbor(x - 1, z, 3);
+                levels = WaterEqualization.withLevel(levels, 0, Math.max(0, this.grid[(z - 1) * size + x]));
+                levels = WaterEqualization.withLevel(levels, 1, Math.max(0, this.grid[z * size + x + 1]));
+                levels = WaterEqualization.withLevel(levels, 2, Math.max(0, this.grid[(z + 1) * size + x]));
+                levels = WaterEqualization.withLevel(levels, 3, Math.max(0, this.grid[z * size + x - 1]));
+
+                checksum ^= WaterEqualization.equalize(level, levels, mask,
+                        WaterEqualization.seed((long) z * size + x, 0));
+            }
+        }
+        return checksum;
+    }
+
+    private int neighbor(int x, int z, int index) {
+        return this.grid[z * this.size + x] == WALL ? 0 : 1 << index;
+    }
+}
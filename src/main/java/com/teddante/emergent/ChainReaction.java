@@ -0,0 +1,180 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Chain-reaction engine and explosion coalescing for volatile detonations.
+ *
+ * Containers caught in a blast, dropped explosives and burning inventories are
+ * queued here instead of each calling createExplosion on the spot. Once per
+ * world tick the engine takes the detonations that were already queued, up to
+ * a per-tick budget, merges the ones that sit close together into a single
+ * blast of their summed TNT-equivalent mass (cube-root law, see
+ * VolatileExplosionUtils.powerFromTntEquivalent) and sets them off, so a pile
+ * of dropped TNT costs one ray sweep instead of dozens. Detonations those
+ * blasts cause are queued for the next tick, so a warehouse of TNT chests
+ * burns through breadth-first, one ring per tick, instead of as one deep
+ * recursion on the server thread.
+ *
+ * The explosives are already out of their container when a detonation is
+ * queued, so none is ever dropped: one whose own position is in an unloaded
+ * chunk waits for that chunk to load again, and whatever is still waiting
+ * when the server stops is journaled as lost.
+ *
+ * Creepers merge among themselves in CreeperReactions: their blasts are mob
+ * explosions, which follow the mobGriefing rule.
+ */
+public final class ChainReaction {
+
+    private record Detonation(double x, double y, double z, double mass, String source) {
+    }
+
+    private final ExplosionWorld world;
+    private final ArrayDeque<Detonation> queue = new ArrayDeque<>();
+    // Chunk -> detonations waiting for it to load
+    private final Long2ObjectOpenHashMap<List<Detonation>> parked = new Long2ObjectOpenHashMap<>();
+
+    // Per-tick scratch
+    private final List<Detonation> wave = new ArrayList<>();
+    private boolean[] merged = new boolean[0];
+
+    public ChainReaction(ExplosionWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Queue a detonation for a later tick.
+     *
+     * @param tntEquivalent mass in TNT blocks
+     * @param source        what is blowing up, for the journal
+     */
+    public void enqueue(double x, double y, double z, double tntEquivalent, String source) {
+        this.queue.add(new Detonation(x, y, z, tntEquivalent, source));
+    }
+
+    public int getPendingCount() {
+        return this.queue.size();
+    }
+
+    public void onChunkLoaded(int chunkX, int chunkZ) {
+        if (this.parked.isEmpty())
+            return;
+        List<Detonation> waiting = this.parked.remove(ChunkPos.toLong(chunkX, chunkZ));
+        if (waiting != null) {
+            this.queue.addAll(waiting);
+        }
+    }
+
+    /**
+     * Called when the server stops. Journals every detonation still waiting,
+     * whose explosives are lost with it, and returns how many there were.
+     */
+    public int discard() {
+        int lost = this.queue.size();
+        for (Detonation detonation : this.queue) {
+            lose(detonation);
+        }
+        for (List<Detonation> waiting : this.parked.values()) {
+            lost += waiting.size();
+            for (Detonation detonation : waiting) {
+                lose(detonation);
+            }
+        }
+        this.queue.clear();
+        this.parked.clear();
+        return lost;
+    }
+
+    /**
+     * Called once per world tick. Returns the number of explosions created.
+     */
+    public int tick() {
+        if (this.queue.isEmpty())
+            return 0;
+
+        long start = EmergentMetrics.start();
+
+        // Only what is queued now: blasts set off below queue their victims for next tick
+        int polled = Math.min(this.queue.size(), EmergentConfig.explosionDetonationsPerTick);
+        for (int i = 0; i < polled; i++) {
+            Detonation detonation = this.queue.poll();
+            if (isLoaded(detonation.x(), detonation.z())) {
+                this.wave.add(detonation);
+            } else {
+                // The chain pauses at unloaded chunks and picks up when they load
+                this.parked.computeIfAbsent(ChunkPos.toLong(ChunkSectionPos.getSectionCoord(detonation.x()),
+                        ChunkSectionPos.getSectionCoord(detonation.z())), key -> new ArrayList<>()).add(detonation);
+            }
+        }
+        int count = this.wave.size();
+        if (this.merged.length < count) {
+            this.merged = new boolean[count];
+        }
+
+        double mergeRadiusSq = (double) EmergentConfig.explosionMergeRadius * EmergentConfig.explosionMergeRadius;
+        int explosions = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (this.merged[i])
+                continue;
+            Detonation first = this.wave.get(i);
+
+            // Merge everything close to this one, centred on the combined mass
+            double mass = first.mass();
+            double x = first.x() * mass;
+            double y = first.y() * mass;
+            double z = first.z() * mass;
+            for (int j = i + 1; j < count; j++) {
+                Detonation other = this.wave.get(j);
+                if (this.merged[j] || squaredDistance(first, other) > mergeRadiusSq)
+                    continue;
+                this.merged[j] = true;
+                mass += other.mass();
+                x += other.x() * other.mass();
+                y += other.y() * other.mass();
+                z += other.z() * other.mass();
+            }
+            x /= mass;
+            y /= mass;
+            z /= mass;
+
+            // Members on either side of an unloaded chunk: blast at the first one instead
+            if (!isLoaded(x, z)) {
+                x = first.x();
+                y = first.y();
+                z = first.z();
+            }
+
+            float power = VolatileExplosionUtils.powerFromTntEquivalent(mass);
+            this.world.createExplosion(x, y, z, power, first.source());
+            explosions++;
+        }
+
+        this.wave.clear();
+        Arrays.fill(this.merged, 0, count, false);
+        EmergentMetrics.record(EmergentMetrics.Metric.VOLATILE, start, explosions);
+        return explosions;
+    }
+
+    private boolean isLoaded(double x, double z) {
+        return this.world.isChunkLoaded(ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(z));
+    }
+
+    private void lose(Detonation detonation) {
+        this.world.onLost(detonation.x(), detonation.y(), detonation.z(), detonation.mass(), detonation.source());
+    }
+
+    private static double squaredDistance(Detonation a, Detonation b) {
+        double dx = a.x() - b.x();
+        double dy = a.y() - b.y();
+        double dz = a.z() - b.z();
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
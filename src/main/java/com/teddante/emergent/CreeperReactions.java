@@ -0,0 +1,140 @@
+package com.teddante.emergent;
+
+import com.teddante.emergent.mixin.CreeperInvoker;
+import net.minecraft.entity.mob.CreeperEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creeper chain reactions, queued instead of nested.
+ *
+ * A creeper hit by an explosion is queued with a short fuse rather than
+ * exploding inside the damage call of the blast that hit it. Once per world
+ * tick the creepers whose fuse has run out are taken, up to a per-tick budget,
+ * and grouped by distance. A lone creeper explodes the vanilla way. A group
+ * becomes one explosion at its centre, sized from the creepers' combined
+ * TNT-equivalent mass (cube-root law, so ten creepers are not ten times the
+ * blast), which is one explosion to compute instead of ten.
+ */
+public final class CreeperReactions {
+
+    private record Reaction(CreeperEntity creeper, long dueTime) {
+    }
+
+    private final ServerWorld world;
+    private final ArrayDeque<Reaction> queue = new ArrayDeque<>();
+
+    // Per-tick scratch
+    private final List<CreeperEntity> wave = new ArrayList<>();
+    private final List<CreeperEntity> group = new ArrayList<>();
+    private boolean[] merged = new boolean[0];
+
+    public CreeperReactions(ServerWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Queue a creeper to go off once its fuse runs out. The fuse is the same
+     * for every creeper, so the queue stays in due order.
+     */
+    public void enqueue(CreeperEntity creeper) {
+        this.queue.add(new Reaction(creeper, this.world.getTime() + EmergentConfig.creeperFuseTicks));
+    }
+
+    public int getPendingCount() {
+        return this.queue.size();
+    }
+
+    /**
+     * Called once per world tick. Returns the number of explosions created.
+     */
+    public int tick() {
+        if (this.queue.isEmpty())
+            return 0;
+
+        long start = EmergentMetrics.start();
+        long now = this.world.getTime();
+
+        while (!this.queue.isEmpty() && this.queue.peek().dueTime() <= now
+                && this.wave.size() < EmergentConfig.creeperDetonationsPerTick) {
+            CreeperEntity creeper = this.queue.poll().creeper();
+            // Killed, unloaded or already blown up in the meantime
+            if (creeper.isAlive() && !creeper.isRemoved()) {
+                this.wave.add(creeper);
+            }
+        }
+
+        int count = this.wave.size();
+        if (this.merged.length < count) {
+            this.merged = new boolean[count];
+        }
+
+        double mergeRadiusSq = (double) EmergentConfig.explosionMergeRadius * EmergentConfig.explosionMergeRadius;
+        int explosions = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (this.merged[i])
+                continue;
+            CreeperEntity first = this.wave.get(i);
+            this.group.add(first);
+            for (int j = i + 1; j < count; j++) {
+                CreeperEntity other = this.wave.get(j);
+                if (!this.merged[j] && first.squaredDistanceTo(other) <= mergeRadiusSq) {
+                    this.merged[j] = true;
+                    this.group.add(other);
+                }
+            }
+
+            if (this.group.size() == 1) {
+                ((CreeperInvoker) first).invokeExplode();
+            } else {
+                explodeTogether(this.group);
+            }
+            this.group.clear();
+            explosions++;
+        }
+
+        this.wave.clear();
+        Arrays.fill(this.merged, 0, count, false);
+        EmergentMetrics.record(EmergentMetrics.Metric.CREEPER, start, explosions);
+        return explosions;
+    }
+
+    /**
+     * One blast for a group of creepers, centred on their combined mass.
+     */
+    private void explodeTogether(List<CreeperEntity> group) {
+        double mass = 0;
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        for (CreeperEntity creeper : group) {
+            float power = ((CreeperInvoker) creeper).getExplosionRadius() * (creeper.isCharged() ? 2.0f : 1.0f);
+            double creeperMass = VolatileExplosionUtils.tntEquivalentFromPower(power);
+            mass += creeperMass;
+            x += creeper.getX() * creeperMass;
+            y += creeper.getY() * creeperMass;
+            z += creeper.getZ() * creeperMass;
+        }
+        if (mass <= 0)
+            return;
+        x /= mass;
+        y /= mass;
+        z /= mass;
+
+        // Remove them first so the blast doesn't hurt (and drop loot from) creepers it stands for
+        for (CreeperEntity creeper : group) {
+            ((CreeperInvoker) creeper).invokeSpawnEffectsCloud();
+            creeper.discard();
+        }
+
+        float power = VolatileExplosionUtils.powerFromTntEquivalent(mass);
+        this.world.createExplosion(group.getFirst(), x, y, z, power, World.ExplosionSourceType.MOB);
+        EmergentJournal.explosion(this.world, x, y, z, power, "creeper");
+    }
+}
@@ -1,6 +1,15 @@
 package com.teddante.emergent;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.minecraft.block.entity.LockableContainerBlockEntity;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.server.world.ServerWorld;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +28,100 @@ public class Emergent implements ModInitializer {
 		// However, some things (like resources) may still be uninitialized.
 		// Proceed with mild caution.
 
+		EmergentConfig.load();
+		EmergentScheduler.configure();
+		EmergentCommands.register();
+
+		// Server tick time for the metrics report, and the optional periodic dump
+		ServerTickEvents.START_SERVER_TICK.register(server -> {
+			EmergentMetrics.onServerTickStart();
+			EmergentScheduler.onTickStart();
+		});
+		ServerTickEvents.END_SERVER_TICK.register(server -> {
+			EmergentScheduler.onTickEnd();
+			EmergentMetrics.onServerTickEnd();
+			int interval = EmergentConfig.metricsLogIntervalTicks;
+			if (interval > 0 && server.getTicks() % interval == 0) {
+				for (String line : EmergentMetrics.report()) {
+					LOGGER.info(line);
+				}
+			}
+		});
+
+		// Per-world systems run once at the end of each world tick
+		ServerTickEvents.END_WORLD_TICK.register(world -> {
+			WaterSolver solver = ((EmergentWorld) world).emergent$getWaterSolver();
+			solver.setMaxCellsPerPass(EmergentScheduler.unitBudget(EmergentScheduler.Subsystem.WATER));
+			long start = System.nanoTime();
+			int cells = solver.tick();
+			EmergentScheduler.charge(EmergentScheduler.Subsystem.WATER, start, cells);
+
+			// Erosion follows the water pass it samples
+			if (cells > 0) {
+				((EmergentWorld) world).emergent$getErosionStage().run(solver);
+			}
+
+			((EmergentWorld) world).emergent$getRainAccumulator().tick();
+			((EmergentWorld) world).emergent$getEvaporation().tick();
+			((EmergentWorld) world).emergent$getChainReactions().tick();
+			((EmergentWorld) world).emergent$getCreeperReactions().tick();
+			((EmergentWorld) world).emergent$getFireTrails().tick();
+			((EmergentWorld) world).emergent$getWildfires().tick();
+		});
+
+		// Side-car storage only lives as long as the chunk is loaded
+		ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+			((EmergentWorld) world).emergent$getFlammability().onChunkLoaded(chunk.getPos().x, chunk.getPos().z);
+			((EmergentWorld) world).emergent$getChainReactions().onChunkLoaded(chunk.getPos().x, chunk.getPos().z);
+		});
+		ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+			((EmergentWorld) world).emergent$getWaterSolver().onChunkUnloaded(chunk.getPos().x, chunk.getPos().z);
+			((EmergentWorld) world).emergent$getRainAccumulator().onChunkUnloaded(chunk.getPos().x, chunk.getPos().z);
+			((EmergentWorld) world).emergent$getFlammability().onChunkUnloaded(chunk.getPos().x, chunk.getPos().z);
+			((EmergentWorld) world).emergent$getWildfires().onChunkUnloaded(chunk.getPos().x, chunk.getPos().z);
+		});
+
+		// Volatile container index follows containers in and out of the world
+		ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((blockEntity, world) -> {
+			if (blockEntity instanceof LockableContainerBlockEntity container) {
+				((EmergentWorld) world).emergent$getVolatileIndex().update(container);
+			}
+		});
+		ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((blockEntity, world) -> {
+			if (blockEntity instanceof LockableContainerBlockEntity) {
+				((EmergentWorld) world).emergent$getVolatileIndex().remove(blockEntity.getPos());
+			}
+		});
+
+		// Erosion settings come from datapacks; the table is compiled once tags are bound
+		ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new ErosionDataLoader());
+
+		// Erosion properties depend on block tags, so follow every (re)load
+		CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+			if (!client) {
+				ErosionTable.rebuild();
+			}
+		});
+
+		ServerLifecycleEvents.SERVER_STARTING.register(server -> EmergentJournal.start());
+
+		// Detonations still queued would vanish with their explosives; journal them while the journal runs
+		ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
+			for (ServerWorld world : server.getWorlds()) {
+				int lost = ((EmergentWorld) world).emergent$getChainReactions().discard();
+				if (lost > 0) {
+					LOGGER.warn("{} queued detonations in {} were lost at shutdown", lost,
+							world.getRegistryKey().getValue());
+				}
+			}
+		});
+
+		// Deferred work holds on to worlds and entities
+		ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+			EmergentScheduler.clear();
+			EmergentJournal.stop();
+		});
+
 		LOGGER.info("Emergent mod initialized.");
 	}
-}
\ No newline at end of file
+}
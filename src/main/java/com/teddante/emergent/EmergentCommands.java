@@ -0,0 +1,47 @@
+package com.teddante.emergent;
+
+import com.mojang.brigadier.CommandDispatcher;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+import java.util.Locale;
+
+/**
+ * The /emergent command.
+ *
+ * /emergent stats - per-system run counts and tick time since startup (or the
+ * last reset), plus the scheduler's current throttle
+ * /emergent stats reset - clear the counters
+ *
+ * Both need permission level 2, like other server-wide commands.
+ */
+public final class EmergentCommands {
+
+    private EmergentCommands() {
+    } // Utility class
+
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> register(dispatcher));
+    }
+
+    private static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("emergent")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(CommandManager.literal("stats").executes(context -> {
+                    for (String line : EmergentMetrics.report()) {
+                        context.getSource().sendFeedback(() -> Text.literal(line), false);
+                    }
+                    String scheduler = String.format(Locale.ROOT, "scheduler: %.1f mspt, throttle %.0f%%, %d queued",
+                            EmergentScheduler.getAverageMspt(), EmergentScheduler.getThrottle() * 100,
+                            EmergentScheduler.getQueuedCount());
+                    context.getSource().sendFeedback(() -> Text.literal(scheduler), false);
+                    return 1;
+                }).then(CommandManager.literal("reset").executes(context -> {
+                    EmergentMetrics.reset();
+                    context.getSource().sendFeedback(() -> Text.literal("Emergent stats reset"), true);
+                    return 1;
+                }))));
+    }
+}
@@ -0,0 +1,177 @@
+package com.teddante.emergent;
+
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Server-side tuning knobs, read from config/emergent.properties.
+ * Missing keys fall back to the defaults below and the file is rewritten with
+ * every key so operators can see what is available.
+ */
+public final class EmergentConfig {
+
+    private EmergentConfig() {
+    } // Utility class
+
+    // Water: run the CA pass on a fork-join pool, partitioned by chunk
+    public static boolean waterParallel = false;
+    public static int waterThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    // Below this many awake cells the single-threaded pass is cheaper
+    public static int waterParallelMinCells = 2048;
+
+    // Erosion: raycasts per chunk after each water pass
+    public static boolean erosionEnabled = true;
+    public static int erosionSamplesPerChunk = 4;
+
+    // Rain: chunks due for accumulation processed per tick, and columns tried in each
+    public static int rainMaxChunksPerTick = 64;
+    public static int rainColumnsPerChunk = 1;
+    // Share of a water level each hit adds to its column
+    public static int rainDropPercent = 10;
+
+    // Evaporation: every intervalTicks, scan this many tracked sections for water
+    // at most maxDepth levels deep
+    public static boolean evaporationEnabled = true;
+    public static int evaporationIntervalTicks = 100;
+    public static int evaporationSectionsPerPass = 64;
+    public static int evaporationMaxDepth = 2;
+    public static int evaporationPercent = 10;
+    public static int evaporationSoakPercent = 5;
+
+    // Explosions: volatile container detonations set off per tick, and the distance
+    // within which queued detonations merge into one blast
+    public static int explosionDetonationsPerTick = 32;
+    public static int explosionMergeRadius = 3;
+
+    // Creepers: ticks between being hit by a blast and exploding, and reactions
+    // processed per tick (nearby ones merge within explosion.mergeRadius)
+    public static int creeperFuseTicks = 4;
+    public static int creeperDetonationsPerTick = 16;
+
+    // Fire trails: each burning entity tries every N ticks (staggered by entity),
+    // with at most this many fires placed per world tick
+    public static int fireTrailIntervalTicks = 2;
+    public static int fireTrailPlacementsPerTick = 64;
+
+    // Wildfires: fire blocks allowed per 64x64 region, deferred ignitions replayed
+    // per tick once a region has room, and how many may wait
+    public static boolean wildfireEnabled = true;
+    public static int wildfireMaxFiresPerRegion = 512;
+    public static int wildfireIgnitionsPerTick = 32;
+    public static int wildfireMaxQueued = 4096;
+
+    // Scheduler: per-tick time budgets, and throttling once the server falls behind
+    public static boolean schedulerEnabled = true;
+    public static int schedulerMsptThreshold = 40;
+    // Rain fill and fire spread rates never drop below this share of normal
+    public static int schedulerMinThrottlePercent = 10;
+    public static int schedulerWaterBudgetMicros = 10_000;
+    public static int schedulerRainBudgetMicros = 1_000;
+    public static int schedulerFireTrailBudgetMicros = 1_000;
+    public static int schedulerAutoPlantBudgetMicros = 500;
+
+    // Journal: JSON-lines record of world changes, keeping 1 in N of each kind
+    public static boolean journalEnabled = true;
+    public static int journalErosionEvery = 1;
+    public static int journalExplosionEvery = 1;
+    public static int journalAutoPlantEvery = 1;
+    public static int journalMaxFileMegabytes = 16;
+    public static int journalMaxFiles = 5;
+
+    // Metrics: log the /emergent stats report every N server ticks (0 = off)
+    public static int metricsLogIntervalTicks = 0;
+
+    public static void load() {
+        Path path = FabricLoader.getInstance().getConfigDir().resolve(Emergent.MOD_ID + ".properties");
+        Properties properties = new Properties();
+
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                Emergent.LOGGER.warn("Could not read {}, using defaults", path, e);
+            }
+        }
+
+        waterParallel = getBoolean(properties, "water.parallel", waterParallel);
+        waterThreads = Math.max(1, getInt(properties, "water.threads", waterThreads));
+        waterParallelMinCells = getInt(properties, "water.parallelMinCells", waterParallelMinCells);
+        erosionEnabled = getBoolean(properties, "erosion.enabled", erosionEnabled);
+        erosionSamplesPerChunk = Math.max(0, getInt(properties, "erosion.samplesPerChunk", erosionSamplesPerChunk));
+        rainMaxChunksPerTick = Math.max(0, getInt(properties, "rain.maxChunksPerTick", rainMaxChunksPerTick));
+        rainColumnsPerChunk = Math.max(0, getInt(properties, "rain.columnsPerChunk", rainColumnsPerChunk));
+        rainDropPercent = Math.max(0, getInt(properties, "rain.dropPercent", rainDropPercent));
+        evaporationEnabled = getBoolean(properties, "evaporation.enabled", evaporationEnabled);
+        evaporationIntervalTicks = Math.max(1, getInt(properties, "evaporation.intervalTicks", evaporationIntervalTicks));
+        evaporationSectionsPerPass = Math.max(0,
+                getInt(properties, "evaporation.sectionsPerPass", evaporationSectionsPerPass));
+        evaporationMaxDepth = Math.clamp(getInt(properties, "evaporation.maxDepth", evaporationMaxDepth), 1, 8);
+        evaporationPercent = getInt(properties, "evaporation.percent", evaporationPercent);
+        evaporationSoakPercent = getInt(properties, "evaporation.soakPercent", evaporationSoakPercent);
+        explosionDetonationsPerTick = Math.max(1,
+                getInt(properties, "explosion.detonationsPerTick", explosionDetonationsPerTick));
+        explosionMergeRadius = Math.max(0, getInt(properties, "explosion.mergeRadius", explosionMergeRadius));
+        creeperFuseTicks = Math.max(0, getInt(properties, "creeper.fuseTicks", creeperFuseTicks));
+        creeperDetonationsPerTick = Math.max(1,
+                getInt(properties, "creeper.detonationsPerTick", creeperDetonationsPerTick));
+        fireTrailIntervalTicks = Math.max(1, getInt(properties, "fireTrail.intervalTicks", fireTrailIntervalTicks));
+        fireTrailPlacementsPerTick = Math.max(0,
+                getInt(properties, "fireTrail.placementsPerTick", fireTrailPlacementsPerTick));
+        wildfireEnabled = getBoolean(properties, "wildfire.enabled", wildfireEnabled);
+        wildfireMaxFiresPerRegion = Math.max(1,
+                getInt(properties, "wildfire.maxFiresPerRegion", wildfireMaxFiresPerRegion));
+        wildfireIgnitionsPerTick = Math.max(1,
+                getInt(properties, "wildfire.ignitionsPerTick", wildfireIgnitionsPerTick));
+        wildfireMaxQueued = Math.max(0, getInt(properties, "wildfire.maxQueued", wildfireMaxQueued));
+        schedulerEnabled = getBoolean(properties, "scheduler.enabled", schedulerEnabled);
+        schedulerMsptThreshold = Math.max(1, getInt(properties, "scheduler.msptThreshold", schedulerMsptThreshold));
+        schedulerMinThrottlePercent = Math.clamp(
+                getInt(properties, "scheduler.minThrottlePercent", schedulerMinThrottlePercent), 0, 100);
+        schedulerWaterBudgetMicros = getInt(properties, "scheduler.waterBudgetMicros", schedulerWaterBudgetMicros);
+        schedulerRainBudgetMicros = getInt(properties, "scheduler.rainBudgetMicros", schedulerRainBudgetMicros);
+        schedulerFireTrailBudgetMicros = getInt(properties, "scheduler.fireTrailBudgetMicros",
+                schedulerFireTrailBudgetMicros);
+        schedulerAutoPlantBudgetMicros = getInt(properties, "scheduler.autoPlantBudgetMicros",
+                schedulerAutoPlantBudgetMicros);
+        journalEnabled = getBoolean(properties, "journal.enabled", journalEnabled);
+        journalErosionEvery = getInt(properties, "journal.erosionEvery", journalErosionEvery);
+        journalExplosionEvery = getInt(properties, "journal.explosionEvery", journalExplosionEvery);
+        journalAutoPlantEvery = getInt(properties, "journal.autoPlantEvery", journalAutoPlantEvery);
+        journalMaxFileMegabytes = Math.max(1, getInt(properties, "journal.maxFileMegabytes", journalMaxFileMegabytes));
+        journalMaxFiles = getInt(properties, "journal.maxFiles", journalMaxFiles);
+        metricsLogIntervalTicks = Math.max(0, getInt(properties, "metrics.logIntervalTicks", metricsLogIntervalTicks));
+
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, "Emergent server configuration");
+        } catch (IOException e) {
+            Emergent.LOGGER.warn("Could not write {}", path, e);
+        }
+    }
+
+    private static boolean getBoolean(Properties properties, String key, boolean fallback) {
+        String value = properties.getProperty(key);
+        boolean result = value != null ? Boolean.parseBoolean(value.trim()) : fallback;
+        properties.setProperty(key, Boolean.toString(result));
+        return result;
+    }
+
+    private static int getInt(Properties properties, String key, int fallback) {
+        String value = properties.getProperty(key);
+        int result = fallback;
+        if (value != null) {
+            try {
+                result = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                Emergent.LOGGER.warn("Invalid value '{}' for {}, using {}", value, key, fallback);
+            }
+        }
+        properties.setProperty(key, Integer.toString(result));
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+package com.teddante.emergent;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for the emergent systems.
+ *
+ * They show up under "Emergent" in JDK Mission Control next to the vanilla
+ * tick, so a lag spike can be traced to the system that caused it. Events are
+ * cheap when no recording is running: begin() and shouldCommit() are JIT
+ * intrinsics and the event object is scalar-replaced.
+ *
+ * Enable with e.g. -XX:StartFlightRecording or jcmd &lt;pid&gt; JFR.start.
+ */
+public final class EmergentEvents {
+
+    private EmergentEvents() {
+    } // Utility class
+
+    private static final String CATEGORY = "Emergent";
+
+    @Name("emergent.WaterBatch")
+    @Label("Water CA Batch")
+    @Description("One pass of the water solver over its awake cells")
+    @Category({ CATEGORY, "Water" })
+    @StackTrace(false)
+    public static final class WaterBatch extends Event {
+        @Label("X")
+        public int x;
+        @Label("Y")
+        public int y;
+        @Label("Z")
+        public int z;
+        @Label("Cells")
+        @Description("Awake cells processed in this pass")
+        public int cells;
+        @Label("Changed Cells")
+        public int changedCells;
+        @Label("Block Writes")
+        public int blockWrites;
+        @Label("Parallel")
+        public boolean parallel;
+    }
+
+    @Name("emergent.VolatileContainer")
+    @Label("Volatile Container")
+    @Description("Scan of a container for volatile items, and its explosion if any")
+    @Category({ CATEGORY, "Explosion" })
+    @StackTrace(false)
+    public static final class VolatileContainer extends Event {
+        @Label("X")
+        public int x;
+        @Label("Y")
+        public int y;
+        @Label("Z")
+        public int z;
+        @Label("Slots")
+        public int slots;
+        @Label("Volatile Stacks")
+        public int volatileStacks;
+        @Label("Power")
+        public float power;
+        @Label("Exploded")
+        public boolean exploded;
+    }
+
+    @Name("emergent.ErosionRaycast")
+    @Label("Erosion Raycast")
+    @Description("Momentum raycast from a moving water block and the erosion it caused")
+    @Category({ CATEGORY, "Water" })
+    @StackTrace(false)
+    public static final class ErosionRaycast extends Event {
+        @Label("X")
+        public int x;
+        @Label("Y")
+        public int y;
+        @Label("Z")
+        public int z;
+        @Label("Energy")
+        public float energy;
+        @Label("Hit")
+        public boolean hit;
+        @Label("Eroded")
+        public boolean eroded;
+    }
+
+    @Name("emergent.FireTrail")
+    @Label("Fire Trail")
+    @Description("Attempt by a burning entity to place fire around itself")
+    @Category({ CATEGORY, "Fire" })
+    @StackTrace(false)
+    public static final class FireTrail extends Event {
+        @Label("X")
+        public int x;
+        @Label("Y")
+        public int y;
+        @Label("Z")
+        public int z;
+        @Label("Entity Type")
+        public String entityType;
+        @Label("Fires Placed")
+        public int firesPlaced;
+    }
+}
@@ -0,0 +1,297 @@
+package com.teddante.emergent;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured journal of world changes made by the mod (erosion, explosions,
+ * auto-plants, and queued detonations lost at shutdown), written as JSON lines to logs/emergent/journal.jsonl.
+ *
+ * The server thread only copies a few primitives into a preallocated ring
+ * buffer. A background thread does the formatting and file I/O, and rotates
+ * the file once it reaches the configured size. If the writer falls behind,
+ * new records are dropped and counted instead of blocking the tick.
+ *
+ * Each kind can be sampled (keep 1 in N) in config/emergent.properties.
+ *
+ * Single producer: record from the server thread only.
+ */
+public final class EmergentJournal {
+
+    private EmergentJournal() {
+    } // Utility class
+
+    public enum Kind {
+        EROSION("erosion"),
+        EXPLOSION("explosion"),
+        AUTO_PLANT("auto_plant"),
+        LOST_DETONATION("lost_detonation");
+
+        public final String id;
+        private int every = 1;
+        private int countdown = 1;
+
+        Kind(String id) {
+            this.id = id;
+        }
+    }
+
+    private static final int CAPACITY = 1 << 13;
+    private static final int MASK = CAPACITY - 1;
+    private static final String FILE_NAME = "journal";
+
+    // Ring buffer, one slot per record
+    private static final Kind[] kinds = new Kind[CAPACITY];
+    private static final long[] times = new long[CAPACITY];
+    private static final Identifier[] worlds = new Identifier[CAPACITY];
+    private static final int[] xs = new int[CAPACITY];
+    private static final int[] ys = new int[CAPACITY];
+    private static final int[] zs = new int[CAPACITY];
+    private static final int[] fromStates = new int[CAPACITY];
+    private static final int[] toStates = new int[CAPACITY];
+    private static final float[] values = new float[CAPACITY];
+    private static final String[] details = new String[CAPACITY];
+
+    private static final AtomicLong head = new AtomicLong();
+    private static final AtomicLong tail = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static volatile boolean enabled;
+    private static volatile boolean running;
+    private static Thread writerThread;
+
+    /**
+     * Apply the config and start the writer thread.
+     */
+    public static synchronized void start() {
+        enabled = EmergentConfig.journalEnabled;
+        Kind.EROSION.every = Math.max(1, EmergentConfig.journalErosionEvery);
+        Kind.EXPLOSION.every = Math.max(1, EmergentConfig.journalExplosionEvery);
+        Kind.AUTO_PLANT.every = Math.max(1, EmergentConfig.journalAutoPlantEvery);
+        if (!enabled || running)
+            return;
+
+        running = true;
+        writerThread = new Thread(EmergentJournal::writeLoop, "Emergent Journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Flush what is queued and stop the writer thread.
+     */
+    public static synchronized void stop() {
+        if (!running)
+            return;
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    public static void erosion(World world, BlockPos pos, BlockState from, BlockState to) {
+        int slot = claim(Kind.EROSION);
+        if (slot < 0)
+            return;
+        fill(slot, world, pos.getX(), pos.getY(), pos.getZ());
+        fromStates[slot] = Block.getRawIdFromState(from);
+        toStates[slot] = Block.getRawIdFromState(to);
+        publish();
+    }
+
+    /**
+     * @param source what blew up, e.g. "container", "item", "inventory"
+     */
+    public static void explosion(World world, double x, double y, double z, float power, String source) {
+        int slot = claim(Kind.EXPLOSION);
+        if (slot < 0)
+            return;
+        fill(slot, world, (int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z));
+        values[slot] = power;
+        details[slot] = source;
+        publish();
+    }
+
+    /**
+     * A queued detonation dropped when the server stopped, with the
+     * TNT-equivalent mass of the explosives that went with it.
+     */
+    public static void lostDetonation(World world, double x, double y, double z, double mass, String source) {
+        int slot = claim(Kind.LOST_DETONATION);
+        if (slot < 0)
+            return;
+        fill(slot, world, (int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z));
+        values[slot] = (float) mass;
+        details[slot] = source;
+        publish();
+    }
+
+    public static void autoPlant(World world, BlockPos pos, BlockState placed) {
+        int slot = claim(Kind.AUTO_PLANT);
+        if (slot < 0)
+            return;
+        fill(slot, world, pos.getX(), pos.getY(), pos.getZ());
+        toStates[slot] = Block.getRawIdFromState(placed);
+        publish();
+    }
+
+    /**
+     * Sampling and back-pressure. Returns the slot to fill, or -1 to skip.
+     */
+    private static int claim(Kind kind) {
+        if (!enabled)
+            return -1;
+        if (--kind.countdown > 0)
+            return -1;
+        kind.countdown = kind.every;
+
+        long next = head.get();
+        if (next - tail.get() >= CAPACITY) {
+            dropped.incrementAndGet();
+            return -1;
+        }
+        int slot = (int) (next & MASK);
+        kinds[slot] = kind;
+        return slot;
+    }
+
+    private static void fill(int slot, World world, int x, int y, int z) {
+        times[slot] = System.currentTimeMillis();
+        worlds[slot] = world.getRegistryKey().getValue();
+        xs[slot] = x;
+        ys[slot] = y;
+        zs[slot] = z;
+    }
+
+    private static void publish() {
+        // Release: the slot's fields are visible to the writer before the new head
+        head.setRelease(head.get() + 1);
+    }
+
+    private static void writeLoop() {
+        Path directory = FabricLoader.getInstance().getGameDir().resolve("logs").resolve(Emergent.MOD_ID);
+        Path file = directory.resolve(FILE_NAME + ".jsonl");
+        StringBuilder line = new StringBuilder(256);
+        Writer writer = null;
+        long written = 0;
+
+        try {
+            Files.createDirectories(directory);
+            writer = open(file);
+            written = Files.size(file);
+
+            while (true) {
+                boolean stopping = !running;
+                long end = head.getAcquire();
+                long start = tail.get();
+
+                for (long i = start; i < end; i++) {
+                    int slot = (int) (i & MASK);
+                    line.setLength(0);
+                    format(slot, line);
+                    writer.write(line.toString());
+                    written += line.length();
+                    details[slot] = null;
+                }
+                tail.setRelease(end);
+
+                if (end > start) {
+                    writer.flush();
+                    if (written >= EmergentConfig.journalMaxFileMegabytes * 1024L * 1024L) {
+                        writer.close();
+                        rotate(directory);
+                        writer = open(file);
+                        written = 0;
+                    }
+                }
+
+                if (stopping)
+                    break;
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        } catch (IOException e) {
+            Emergent.LOGGER.error("Journal writer stopped", e);
+            enabled = false;
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    Emergent.LOGGER.warn("Could not close the journal", e);
+                }
+            }
+        }
+    }
+
+    private static Writer open(Path file) throws IOException {
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * journal.jsonl becomes journal.1.jsonl, journal.1 becomes journal.2, and
+     * so on; the oldest falls off the end.
+     */
+    private static void rotate(Path directory) throws IOException {
+        int keep = Math.max(1, EmergentConfig.journalMaxFiles);
+        Files.deleteIfExists(directory.resolve(FILE_NAME + "." + keep + ".jsonl"));
+        for (int i = keep - 1; i >= 1; i--) {
+            Path from = directory.resolve(FILE_NAME + "." + i + ".jsonl");
+            if (Files.exists(from)) {
+                Files.move(from, directory.resolve(FILE_NAME + "." + (i + 1) + ".jsonl"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(directory.resolve(FILE_NAME + ".jsonl"), directory.resolve(FILE_NAME + ".1.jsonl"),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void format(int slot, StringBuilder out) {
+        Kind kind = kinds[slot];
+        out.append("{\"time\":").append(times[slot])
+                .append(",\"type\":\"").append(kind.id)
+                .append("\",\"world\":\"").append(worlds[slot])
+                .append("\",\"x\":").append(xs[slot])
+                .append(",\"y\":").append(ys[slot])
+                .append(",\"z\":").append(zs[slot]);
+
+        switch (kind) {
+            case EROSION -> out.append(",\"from\":\"").append(blockId(fromStates[slot]))
+                    .append("\",\"to\":\"").append(blockId(toStates[slot])).append('"');
+            case EXPLOSION -> out.append(",\"power\":").append(values[slot])
+                    .append(",\"source\":\"").append(details[slot]).append('"');
+            case LOST_DETONATION -> out.append(",\"mass\":").append(values[slot])
+                    .append(",\"source\":\"").append(details[slot]).append('"');
+            case AUTO_PLANT -> out.append(",\"block\":\"").append(blockId(toStates[slot])).append('"');
+        }
+        out.append("}\n");
+    }
+
+    private static Identifier blockId(int stateId) {
+        return Registries.BLOCK.getId(Block.getStateFromRawId(stateId).getBlock());
+    }
+}
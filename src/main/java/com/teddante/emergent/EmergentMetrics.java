@@ -0,0 +1,169 @@
+package com.teddante.emergent;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead counters and latency histograms for every emergent system.
+ *
+ * Usage around a unit of work:
+ * long start = EmergentMetrics.start();
+ * ... work ...
+ * EmergentMetrics.record(EmergentMetrics.Metric.WATER, start, cellsTouched);
+ *
+ * Histograms are log-linear (4 sub-buckets per power of two of nanoseconds),
+ * the same idea as HdrHistogram at a fixed 2 significant bits, so recording is
+ * one array increment and percentiles are within 25%.
+ */
+public final class EmergentMetrics {
+
+    private EmergentMetrics() {
+    } // Utility class
+
+    public enum Metric {
+        WATER("water", "cells"),
+        EROSION("erosion", "blocks eroded"),
+        RAIN("rain", "placements"),
+        EVAPORATION("evaporation", "levels removed"),
+        FIRE_TRAIL("fire_trail", "fires placed"),
+        VOLATILE("volatile", "detonations"),
+        CREEPER("creeper", "chain reactions"),
+        WILDFIRE("wildfire", "deferred ignitions"),
+        AUTO_PLANT("auto_plant", "plants");
+
+        public final String id;
+        public final String eventName;
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder events = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        Metric(String id, String eventName) {
+            this.id = id;
+            this.eventName = eventName;
+        }
+    }
+
+    private static final int SUB_BITS = 2;
+    private static final int BUCKETS = 64 << SUB_BITS;
+
+    // Server tick time, for the "% of tick" column
+    private static final LongAdder serverTicks = new LongAdder();
+    private static final LongAdder serverNanos = new LongAdder();
+    private static long tickStart;
+
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void record(Metric metric, long start) {
+        record(metric, start, 0);
+    }
+
+    public static void record(Metric metric, long start, int events) {
+        long elapsed = System.nanoTime() - start;
+        metric.calls.increment();
+        metric.nanos.add(elapsed);
+        if (events != 0) {
+            metric.events.add(events);
+        }
+        metric.buckets.incrementAndGet(bucket(elapsed));
+    }
+
+    /**
+     * Count events that are not worth timing on their own.
+     */
+    public static void count(Metric metric, int events) {
+        metric.events.add(events);
+    }
+
+    public static void onServerTickStart() {
+        tickStart = System.nanoTime();
+    }
+
+    public static void onServerTickEnd() {
+        serverTicks.increment();
+        serverNanos.add(System.nanoTime() - tickStart);
+    }
+
+    public static void reset() {
+        for (Metric metric : Metric.values()) {
+            metric.calls.reset();
+            metric.events.reset();
+            metric.nanos.reset();
+            for (int i = 0; i < BUCKETS; i++) {
+                metric.buckets.set(i, 0);
+            }
+        }
+        serverTicks.reset();
+        serverNanos.reset();
+    }
+
+    /**
+     * One line per system, plus a header with the average server tick.
+     */
+    public static String[] report() {
+        long ticks = serverTicks.sum();
+        long tickNanos = serverNanos.sum();
+        Metric[] metrics = Metric.values();
+        String[] lines = new String[metrics.length + 1];
+
+        lines[0] = String.format(Locale.ROOT, "Emergent: %d ticks, avg %.2f ms/tick", ticks,
+                ticks == 0 ? 0.0 : tickNanos / 1e6 / ticks);
+
+        for (int i = 0; i < metrics.length; i++) {
+            Metric metric = metrics[i];
+            long calls = metric.calls.sum();
+            long nanos = metric.nanos.sum();
+            lines[i + 1] = String.format(Locale.ROOT,
+                    "%s: %d runs, %d %s, avg %.3f ms, p50 %.3f, p99 %.3f, max %.3f ms, %.2f%% of tick",
+                    metric.id, calls, metric.events.sum(), metric.eventName,
+                    calls == 0 ? 0.0 : nanos / 1e6 / calls,
+                    percentile(metric, 0.50) / 1e6, percentile(metric, 0.99) / 1e6, percentile(metric, 1.0) / 1e6,
+                    tickNanos == 0 ? 0.0 : 100.0 * nanos / tickNanos);
+        }
+        return lines;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile, in nanoseconds.
+     */
+    private static long percentile(Metric metric, double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += metric.buckets.get(i);
+        }
+        if (total == 0)
+            return 0;
+
+        long target = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += metric.buckets.get(i);
+            if (seen >= target)
+                return upperBound(i);
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < (1L << SUB_BITS))
+            return (int) Math.max(0, nanos);
+        int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (magnitude - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+        return ((magnitude - SUB_BITS + 1) << SUB_BITS) | sub;
+    }
+
+    private static long upperBound(int bucket) {
+        int group = bucket >>> SUB_BITS;
+        int sub = bucket & ((1 << SUB_BITS) - 1);
+        if (group == 0)
+            return sub + 1;
+        int magnitude = group + SUB_BITS - 1;
+        long base = 1L << magnitude;
+        long step = base >>> SUB_BITS;
+        return base + (sub + 1) * step;
+    }
+}
@@ -0,0 +1,189 @@
+package com.teddante.emergent;
+
+import java.util.PriorityQueue;
+
+/**
+ * Per-tick work budget shared by the emergent systems.
+ *
+ * Every subsystem gets a time budget per server tick. Work that does not fit
+ * is either skipped and retried by its caller (rain, fire trails), capped
+ * (water cells per pass) or queued here with a priority and run on a later
+ * tick when there is budget left.
+ *
+ * When the average tick time goes above the configured MSPT threshold the
+ * budgets and the random rates of rain fill and fire spread are scaled down
+ * together, so the simulation slows down instead of the server.
+ *
+ * Server thread only.
+ */
+public final class EmergentScheduler {
+
+    private EmergentScheduler() {
+    } // Utility class
+
+    public enum Subsystem {
+        WATER,
+        RAIN,
+        FIRE_TRAIL,
+        AUTO_PLANT;
+
+        private long budgetNanos;
+        private long usedNanos;
+        // Running estimate of the cost of one unit of work (e.g. one water cell)
+        private double nanosPerUnit = 2000.0;
+    }
+
+    // Below this many units a capped subsystem would stall rather than degrade
+    private static final int MIN_UNITS = 64;
+    private static final double MSPT_SMOOTHING = 0.1;
+
+    private static final PriorityQueue<Task> queue = new PriorityQueue<>();
+    private static long sequence;
+
+    private static long tickStart;
+    private static double averageMspt;
+    private static double throttle = 1.0;
+
+    /**
+     * Read budgets from the config. Called once at startup.
+     */
+    public static void configure() {
+        Subsystem.WATER.budgetNanos = EmergentConfig.schedulerWaterBudgetMicros * 1000L;
+        Subsystem.RAIN.budgetNanos = EmergentConfig.schedulerRainBudgetMicros * 1000L;
+        Subsystem.FIRE_TRAIL.budgetNanos = EmergentConfig.schedulerFireTrailBudgetMicros * 1000L;
+        Subsystem.AUTO_PLANT.budgetNanos = EmergentConfig.schedulerAutoPlantBudgetMicros * 1000L;
+    }
+
+    public static void onTickStart() {
+        tickStart = System.nanoTime();
+        for (Subsystem subsystem : Subsystem.values()) {
+            subsystem.usedNanos = 0;
+        }
+    }
+
+    /**
+     * Run carried-over work that fits in what is left of each budget, then
+     * update the MSPT average and the throttle.
+     */
+    public static void onTickEnd() {
+        drain();
+
+        double mspt = (System.nanoTime() - tickStart) / 1e6;
+        averageMspt += (mspt - averageMspt) * MSPT_SMOOTHING;
+
+        double threshold = EmergentConfig.schedulerMsptThreshold;
+        if (!EmergentConfig.schedulerEnabled || averageMspt <= threshold) {
+            throttle = 1.0;
+        } else {
+            throttle = Math.max(EmergentConfig.schedulerMinThrottlePercent / 100.0, threshold / averageMspt);
+        }
+    }
+
+    /**
+     * 1.0 under normal load, down to the configured floor when the server is
+     * behind.
+     */
+    public static double getThrottle() {
+        return throttle;
+    }
+
+    public static double getAverageMspt() {
+        return averageMspt;
+    }
+
+    /**
+     * Scale a per-tick probability by the current throttle.
+     */
+    public static double scale(double probability) {
+        return probability * throttle;
+    }
+
+    public static boolean hasBudget(Subsystem subsystem) {
+        return !EmergentConfig.schedulerEnabled || subsystem.usedNanos < budget(subsystem);
+    }
+
+    public static void charge(Subsystem subsystem, long start) {
+        subsystem.usedNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Charge work made of countable units and refine the per-unit cost.
+     */
+    public static void charge(Subsystem subsystem, long start, int units) {
+        long elapsed = System.nanoTime() - start;
+        subsystem.usedNanos += elapsed;
+        if (units > 0) {
+            subsystem.nanosPerUnit += ((double) elapsed / units - subsystem.nanosPerUnit) * 0.25;
+        }
+    }
+
+    /**
+     * How many units fit in what is left of the budget this tick.
+     */
+    public static int unitBudget(Subsystem subsystem) {
+        if (!EmergentConfig.schedulerEnabled)
+            return Integer.MAX_VALUE;
+        long remaining = Math.max(0, budget(subsystem) - subsystem.usedNanos);
+        return (int) Math.max(MIN_UNITS, Math.min(Integer.MAX_VALUE, remaining / subsystem.nanosPerUnit));
+    }
+
+    /**
+     * Queue work for a later tick. Lower priority values run first; equal
+     * priorities run in submission order.
+     */
+    public static void submit(Subsystem subsystem, int priority, Runnable work) {
+        queue.add(new Task(subsystem, priority, sequence++, work));
+    }
+
+    public static int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Drop queued work, e.g. when the server stops.
+     */
+    public static void clear() {
+        queue.clear();
+    }
+
+    private static long budget(Subsystem subsystem) {
+        return (long) (subsystem.budgetNanos * throttle);
+    }
+
+    private static void drain() {
+        if (queue.isEmpty())
+            return;
+
+        // Tasks of a subsystem that is out of budget wait, the others still run
+        PriorityQueue<Task> deferred = null;
+        while (!queue.isEmpty()) {
+            Task task = queue.poll();
+            if (!hasBudget(task.subsystem)) {
+                if (deferred == null) {
+                    deferred = new PriorityQueue<>();
+                }
+                deferred.add(task);
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                task.work.run();
+            } catch (RuntimeException e) {
+                Emergent.LOGGER.error("Deferred {} task failed", task.subsystem, e);
+            }
+            charge(task.subsystem, start);
+        }
+        if (deferred != null) {
+            queue.addAll(deferred);
+        }
+    }
+
+    private record Task(Subsystem subsystem, int priority, long sequence, Runnable work)
+            implements Comparable<Task> {
+        @Override
+        public int compareTo(Task other) {
+            int result = Integer.compare(this.priority, other.priority);
+            return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.teddante.emergent;
+
+/**
+ * Duck interface implemented on ServerWorld by ServerWorldMixin.
+ * Gives access to the per-world emergent systems.
+ */
+public interface EmergentWorld {
+    WaterSolver emergent$getWaterSolver();
+
+    ErosionStage emergent$getErosionStage();
+
+    RainAccumulator emergent$getRainAccumulator();
+
+    Evaporation emergent$getEvaporation();
+
+    ChainReaction emergent$getChainReactions();
+
+    CreeperReactions emergent$getCreeperReactions();
+
+    FireTrailEmitter emergent$getFireTrails();
+
+    FlammabilityCache emergent$getFlammability();
+
+    WildfireManager emergent$getWildfires();
+
+    VolatileContainerIndex emergent$getVolatileIndex();
+}
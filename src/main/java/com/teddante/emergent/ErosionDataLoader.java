@@ -0,0 +1,113 @@
+package com.teddante.emergent;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.block.Block;
+import net.minecraft.registry.Registries;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Loads the erosion settings from data/&lt;namespace&gt;/erosion/*.json.
+ *
+ * Format:
+ * {
+ *   "replace": false,
+ *   "energy_multiplier": 25.0,
+ *   "base_probability": 0.005,
+ *   "degradation": { "minecraft:stone": "minecraft:cobblestone", ... }
+ * }
+ *
+ * Files are applied in identifier order, and within a file in datapack order.
+ * Later entries override earlier ones; "replace": true drops the chain built so
+ * far. The mod ships its defaults as data/emergent/erosion/degradation.json.
+ *
+ * Only parsing happens here. Tags are not bound yet during the reload, so
+ * ErosionTable compiles these settings when tags finish loading.
+ */
+public final class ErosionDataLoader implements SimpleSynchronousResourceReloadListener {
+
+    public static final float DEFAULT_ENERGY_MULTIPLIER = 25.0f;
+    public static final float DEFAULT_BASE_PROBABILITY = 0.005f;
+
+    private static final String DIRECTORY = "erosion";
+
+    /**
+     * One compiled set of datapack values.
+     */
+    public record Settings(Map<Block, Block> chain, float energyMultiplier, float baseProbability) {
+    }
+
+    private static volatile Settings settings = new Settings(Map.of(), DEFAULT_ENERGY_MULTIPLIER,
+            DEFAULT_BASE_PROBABILITY);
+
+    public static Settings getSettings() {
+        return settings;
+    }
+
+    @Override
+    public Identifier getFabricId() {
+        return Identifier.of(Emergent.MOD_ID, DIRECTORY);
+    }
+
+    @Override
+    public void reload(ResourceManager manager) {
+        Map<Block, Block> chain = new HashMap<>();
+        float energyMultiplier = DEFAULT_ENERGY_MULTIPLIER;
+        float baseProbability = DEFAULT_BASE_PROBABILITY;
+
+        Map<Identifier, List<Resource>> files = manager.findAllResources(DIRECTORY,
+                id -> id.getPath().endsWith(".json"));
+        for (Map.Entry<Identifier, List<Resource>> file : new TreeMap<>(files).entrySet()) {
+            for (Resource resource : file.getValue()) {
+                try (Reader reader = resource.getReader()) {
+                    JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+
+                    if (json.has("replace") && json.get("replace").getAsBoolean()) {
+                        chain.clear();
+                    }
+                    if (json.has("energy_multiplier")) {
+                        energyMultiplier = json.get("energy_multiplier").getAsFloat();
+                    }
+                    if (json.has("base_probability")) {
+                        baseProbability = json.get("base_probability").getAsFloat();
+                    }
+                    if (json.has("degradation")) {
+                        for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("degradation").entrySet()) {
+                            Optional<Block> from = block(entry.getKey());
+                            Optional<Block> to = block(entry.getValue().getAsString());
+                            if (from.isPresent() && to.isPresent()) {
+                                chain.put(from.get(), to.get());
+                            } else {
+                                Emergent.LOGGER.warn("Unknown block in erosion chain {}: {} -> {}",
+                                        file.getKey(), entry.getKey(), entry.getValue());
+                            }
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    Emergent.LOGGER.error("Could not load erosion settings {}", file.getKey(), e);
+                }
+            }
+        }
+
+        settings = new Settings(Collections.unmodifiableMap(chain), energyMultiplier, baseProbability);
+        Emergent.LOGGER.info("Loaded {} erosion degradation rules", chain.size());
+    }
+
+    private static Optional<Block> block(String id) {
+        Identifier identifier = Identifier.tryParse(id);
+        return identifier == null ? Optional.empty() : Registries.BLOCK.getOptionalValue(identifier);
+    }
+}
@@ -2,135 +2,105 @@ package com.teddante.emergent;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
-import net.minecraft.fluid.FluidState;
-import net.minecraft.registry.tag.BlockTags;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
-
-import java.util.HashMap;
-import java.util.Map;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.WorldView;
 
 public class ErosionPhysics {
 
-    // The "Degradation Chain" - Defining how materials weather down
-    private static final Map<Block, Block> DEGRADATION_MAP = new HashMap<>();
-
-    static {
-        // Natural Stone Weathering
-        DEGRADATION_MAP.put(Blocks.STONE, Blocks.COBBLESTONE);
-        DEGRADATION_MAP.put(Blocks.DEEPSLATE, Blocks.COBBLED_DEEPSLATE);
-        DEGRADATION_MAP.put(Blocks.ANDESITE, Blocks.COBBLESTONE);
-        DEGRADATION_MAP.put(Blocks.DIORITE, Blocks.COBBLESTONE);
-        DEGRADATION_MAP.put(Blocks.GRANITE, Blocks.COBBLESTONE);
-
-        // Cracking/Loosening
-        DEGRADATION_MAP.put(Blocks.COBBLESTONE, Blocks.MOSSY_COBBLESTONE);
-        DEGRADATION_MAP.put(Blocks.COBBLED_DEEPSLATE, Blocks.GRAVEL);
-
-        // Crumbling to Gravity Blocks
-        DEGRADATION_MAP.put(Blocks.MOSSY_COBBLESTONE, Blocks.GRAVEL);
-        DEGRADATION_MAP.put(Blocks.SANDSTONE, Blocks.SAND);
-        DEGRADATION_MAP.put(Blocks.RED_SANDSTONE, Blocks.RED_SAND);
+    /**
+     * Cast a ray from the center of the water block along the velocity vector
+     * and return the first solid block it hits, or null. The ray stops at the
+     * first unloaded chunk.
+     */
+    static BlockPos findImpact(BlockView world, BlockPos fluidPos, Vec3d velocity) {
+        BlockPos.Mutable impact = new BlockPos.Mutable();
+        if (findImpact(world, fluidPos, velocity.x, velocity.y, velocity.z, impact)) {
+            return impact.toImmutable();
+        }
+        return null;
     }
 
-    public static void attemptErosion(ServerWorld world, BlockPos fluidPos, FluidState fluidState) {
-        // 1. Get 3D Velocity Vector (The "Push" of the water)
-        Vec3d velocity = fluidState.getVelocity(world, fluidPos);
-        double speedSq = velocity.lengthSquared();
-
-        if (speedSq < 0.001)
-            return; // Too still to erode
-
-        // 2. Define Total Energy
-        float level = fluidState.getLevel();
-        // Mass (level) * velocity^2 = Kinetic Energy
-        float energyMultiplier = 25.0f; // Tuning constant for "Oomph"
-        float totalEnergy = (float) (level * speedSq * energyMultiplier);
-
-        // 3. 3D Momentum Raycast
-        // We cast a ray from the center of the water block along the velocity vector.
-        Vec3d start = Vec3d.ofCenter(fluidPos);
-        Vec3d direction = velocity.normalize();
+    /**
+     * Allocation-free raycast: writes the first solid block into {@code impact}
+     * and returns true, or returns false if the ray runs out or reaches an
+     * unloaded chunk first.
+     */
+    static boolean findImpact(BlockView world, BlockPos fluidPos, double dx, double dy, double dz,
+            BlockPos.Mutable impact) {
+        double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (length < 1.0E-4)
+            return false;
 
         // Raycast steps (0.5 blocks per step)
+        double stepX = dx / length * 0.5;
+        double stepY = dy / length * 0.5;
+        double stepZ = dz / length * 0.5;
+        double startX = fluidPos.getX() + 0.5;
+        double startY = fluidPos.getY() + 0.5;
+        double startZ = fluidPos.getZ() + 0.5;
         int maxSteps = 10; // Up to 5 blocks distance
-        BlockPos targetPos = null;
-        BlockState targetState = null;
+        // Plain block views (benchmark grids) have no chunks to check
+        WorldView chunks = world instanceof WorldView view ? view : null;
 
         for (int i = 1; i <= maxSteps; i++) {
-            Vec3d current = start.add(direction.multiply(i * 0.5));
-            BlockPos checkPos = BlockPos.ofFloored(current.x, current.y, current.z);
+            impact.set(MathHelper.floor(startX + stepX * i), MathHelper.floor(startY + stepY * i),
+                    MathHelper.floor(startZ + stepZ * i));
 
             // Skip the source block itself
-            if (checkPos.equals(fluidPos))
+            if (impact.equals(fluidPos))
                 continue;
 
-            BlockState state = world.getBlockState(checkPos);
+            // Never load a chunk, and don't see through one that isn't there
+            if (chunks != null && !chunks.isChunkLoaded(impact.getX() >> 4, impact.getZ() >> 4))
+                return false;
+
+            BlockState state = world.getBlockState(impact);
 
             // If we hit a solid block (not air, not water), that's our impact target!
             if (!state.isAir() && state.getFluidState().isEmpty()) {
-                targetPos = checkPos;
-                targetState = state;
-                break;
+                return true;
             }
 
             // If we hit air/water, momentum is conserved, keep going.
         }
-
-        if (targetPos != null && targetState != null) {
-            attemptBlockBreak(world, targetPos, targetState, totalEnergy);
-        }
+        return false;
     }
 
-    private static void attemptBlockBreak(ServerWorld world, BlockPos pos, BlockState state, float energy) {
-        // Common Checks
-        if (state.isOf(Blocks.BEDROCK) || state.isOf(Blocks.OBSIDIAN))
-            return;
-        if (state.isIn(BlockTags.FEATURES_CANNOT_REPLACE))
-            return;
-
-        // Resistance R = Hardness^2
-        float hardness = state.getHardness(world, pos);
-        if (hardness < 0)
-            return; // Unbreakable
-
-        float resistance = hardness * hardness;
-        if (resistance < 0.1f)
-            resistance = 0.1f;
-
-        // Probability P = (E / R) * k
-        double probability = (energy / resistance) * 0.005; // 0.5% Base Chance
-
-        if (world.random.nextDouble() < probability) {
-            erodeBlock(world, pos, state);
-        }
+    /**
+     * Roll erosion for a block hit with the given energy. Returns the state it
+     * turns into (air when washed away), or null if it holds.
+     */
+    static BlockState erodedState(BlockState state, float energy, Random random) {
+        ErosionTable table = ErosionTable.get();
+        int id = Block.getRawIdFromState(state);
+        if (table.getKind(id) == ErosionTable.NONE)
+            return null;
+
+        // Probability P = (E / R) * k, with R = Hardness^2
+        double probability = (energy / table.getResistance(id)) * table.getBaseProbability();
+
+        if (random.nextDouble() >= probability)
+            return null;
+        return Block.getStateFromRawId(table.getTarget(id));
     }
 
-    private static void erodeBlock(ServerWorld world, BlockPos pos, BlockState state) {
-        Block convertedBlock = DEGRADATION_MAP.get(state.getBlock());
-
-        if (convertedBlock != null) {
-            Emergent.LOGGER.info("Erosion (Weathering) at {} [{}]: {} -> {}",
-                    pos.toShortString(),
-                    String.format("%.2f", state.getHardness(world, pos)),
-                    state.getBlock().getName().getString(),
-                    convertedBlock.getName().getString());
-            world.setBlockState(pos, convertedBlock.getDefaultState());
-            world.playSound(null, pos, SoundEvents.BLOCK_GRAVEL_BREAK, SoundCategory.BLOCKS, 0.5f, 0.8f);
+    /**
+     * Apply the result of {@link #erodedState}.
+     */
+    static void applyErosion(ServerWorld world, BlockPos pos, BlockState from, BlockState to) {
+        EmergentJournal.erosion(world, pos, from, to);
+        if (to.isAir()) {
+            world.breakBlock(pos, false); // Washing
         } else {
-            float hardness = state.getHardness(world, pos);
-            if (hardness < 1.0f || state.isIn(BlockTags.SAND) || state.isOf(Blocks.GRAVEL)
-                    || state.isIn(BlockTags.DIRT)) {
-                Emergent.LOGGER.info("Erosion (Washing) at {} [{}]: {} -> AIR",
-                        pos.toShortString(),
-                        String.format("%.2f", hardness),
-                        state.getBlock().getName().getString());
-                world.breakBlock(pos, false);
-            }
+            world.setBlockState(pos, to); // Weathering
+            world.playSound(null, pos, SoundEvents.BLOCK_GRAVEL_BREAK, SoundCategory.BLOCKS, 0.5f, 0.8f);
         }
     }
 }
@@ -0,0 +1,144 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Erosion as a pipeline stage after each water pass.
+ *
+ * Samples a bounded number of the cells that moved volume in the pass, per
+ * chunk, and raycasts along their flow. Velocity comes straight from the
+ * solver's level storage (level differences to the neighbours, plus a fall
+ * term when the cell below is open) instead of FluidState.getVelocity. The
+ * ray reuses one mutable position. Degradations are collected first and
+ * applied together at the end, so block updates from one hit never feed into
+ * the rays of the same batch.
+ */
+public final class ErosionStage {
+
+    private final ServerWorld world;
+    private final BlockPos.Mutable origin = new BlockPos.Mutable();
+    private final BlockPos.Mutable impact = new BlockPos.Mutable();
+
+    // Per-pass scratch, reused between passes
+    private final Long2IntOpenHashMap samplesPerChunk = new Long2IntOpenHashMap();
+    private final LongOpenHashSet hitPositions = new LongOpenHashSet();
+    private final LongArrayList hits = new LongArrayList();
+    private final List<BlockState> hitStates = new ArrayList<>();
+    private final List<BlockState> erodedStates = new ArrayList<>();
+    private float energyMultiplier;
+
+    public ErosionStage(ServerWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Run after a solver pass. Returns the number of blocks eroded.
+     */
+    public int run(WaterSolver solver) {
+        LongList moved = solver.getMovedCells();
+        if (!EmergentConfig.erosionEnabled || moved.isEmpty())
+            return 0;
+
+        long start = EmergentMetrics.start();
+        WaterLevelStorage storage = solver.getStorage();
+        this.energyMultiplier = ErosionTable.get().getEnergyMultiplier();
+        int maxPerChunk = EmergentConfig.erosionSamplesPerChunk;
+
+        // Start at a random offset so the same cells are not always first in line
+        int size = moved.size();
+        int offset = this.world.random.nextInt(size);
+        for (int i = 0; i < size; i++) {
+            long pos = moved.getLong((offset + i) % size);
+            long chunk = ChunkPos.toLong(BlockPos.unpackLongX(pos) >> 4, BlockPos.unpackLongZ(pos) >> 4);
+            if (this.samplesPerChunk.addTo(chunk, 1) >= maxPerChunk)
+                continue;
+            sample(storage, pos);
+        }
+
+        int eroded = this.hits.size();
+        for (int i = 0; i < eroded; i++) {
+            BlockPos pos = this.impact.set(this.hits.getLong(i));
+            ErosionPhysics.applyErosion(this.world, pos, this.hitStates.get(i), this.erodedStates.get(i));
+        }
+
+        this.samplesPerChunk.clear();
+        this.hitPositions.clear();
+        this.hits.clear();
+        this.hitStates.clear();
+        this.erodedStates.clear();
+        EmergentMetrics.record(EmergentMetrics.Metric.EROSION, start, eroded);
+        return eroded;
+    }
+
+    private void sample(WaterLevelStorage storage, long pos) {
+        int x = BlockPos.unpackLongX(pos);
+        int y = BlockPos.unpackLongY(pos);
+        int z = BlockPos.unpackLongZ(pos);
+        int level = WaterLevelStorage.level(storage.get(x, y, z));
+        if (level == 0)
+            return;
+
+        // Flow runs down the level gradient, and down when the cell below has room
+        double dx = 0;
+        double dz = 0;
+        for (Direction dir : Direction.Type.HORIZONTAL) {
+            int neighbor = storage.get(x + dir.getOffsetX(), y, z + dir.getOffsetZ());
+            if (isOpen(neighbor)) {
+                int diff = level - WaterLevelStorage.level(neighbor);
+                dx += dir.getOffsetX() * diff;
+                dz += dir.getOffsetZ() * diff;
+            }
+        }
+        int below = storage.get(x, y - 1, z);
+        double dy = isOpen(below) && WaterLevelStorage.level(below) < 8 ? -level : 0;
+        if (dx == 0 && dy == 0 && dz == 0)
+            return; // Too still to erode
+
+        // Kinetic energy, level * speed^2, with the velocity as a unit vector
+        float energy = level * this.energyMultiplier;
+
+        EmergentEvents.ErosionRaycast event = new EmergentEvents.ErosionRaycast();
+        event.begin();
+
+        this.origin.set(x, y, z);
+        boolean hit = ErosionPhysics.findImpact(this.world, this.origin, dx, dy, dz, this.impact);
+        boolean eroded = false;
+        if (hit && !this.hitPositions.contains(this.impact.asLong())) {
+            BlockState state = this.world.getBlockState(this.impact);
+            BlockState result = ErosionPhysics.erodedState(state, energy, this.world.random);
+            if (result != null) {
+                this.hitPositions.add(this.impact.asLong());
+                this.hits.add(this.impact.asLong());
+                this.hitStates.add(state);
+                this.erodedStates.add(result);
+                eroded = true;
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.x = x;
+            event.y = y;
+            event.z = z;
+            event.energy = energy;
+            event.hit = hit;
+            event.eroded = eroded;
+            event.commit();
+        }
+    }
+
+    private static boolean isOpen(int value) {
+        return value >= 1 && value <= 9;
+    }
+}
@@ -0,0 +1,128 @@
+package com.teddante.emergent;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EmptyBlockView;
+
+import java.util.Map;
+
+/**
+ * Erosion properties for every block state, indexed by raw state ID.
+ *
+ * Everything ErosionPhysics used to work out per hit (hardness, tag checks,
+ * the degradation lookup) is resolved once here, so a hit is one array read.
+ * Tag membership and the degradation chain (see ErosionDataLoader) can change
+ * with datapacks, so the table is rebuilt whenever tags are (re)loaded and
+ * swapped in as a whole.
+ */
+public final class ErosionTable {
+
+    // Erodibility classes
+    public static final byte NONE = 0;
+    public static final byte WEATHER = 1; // turns into the next block of the chain
+    public static final byte WASH = 2; // washed away to air
+
+    private static volatile ErosionTable current;
+
+    private final byte[] kind;
+    private final float[] resistance;
+    private final int[] target;
+    private final float energyMultiplier;
+    private final float baseProbability;
+
+    private ErosionTable(int size, float energyMultiplier, float baseProbability) {
+        this.kind = new byte[size];
+        this.resistance = new float[size];
+        this.target = new int[size];
+        this.energyMultiplier = energyMultiplier;
+        this.baseProbability = baseProbability;
+    }
+
+    public static ErosionTable get() {
+        ErosionTable table = current;
+        if (table == null) {
+            // Before the first tag load: tag checks just come back false
+            table = rebuild();
+        }
+        return table;
+    }
+
+    /**
+     * Rebuild from the current tags and degradation chain.
+     */
+    public static ErosionTable rebuild() {
+        ErosionTable table = build(ErosionDataLoader.getSettings());
+        current = table;
+        return table;
+    }
+
+    public byte getKind(int stateId) {
+        return stateId < this.kind.length ? this.kind[stateId] : NONE;
+    }
+
+    /**
+     * Hardness squared, floored at 0.1.
+     */
+    public float getResistance(int stateId) {
+        return this.resistance[stateId];
+    }
+
+    /**
+     * Raw ID of the state this one erodes into.
+     */
+    public int getTarget(int stateId) {
+        return this.target[stateId];
+    }
+
+    /**
+     * Energy per level of a moving water block.
+     */
+    public float getEnergyMultiplier() {
+        return this.energyMultiplier;
+    }
+
+    /**
+     * Erosion chance per unit of energy over resistance.
+     */
+    public float getBaseProbability() {
+        return this.baseProbability;
+    }
+
+    private static ErosionTable build(ErosionDataLoader.Settings settings) {
+        Map<Block, Block> chain = settings.chain();
+        ErosionTable table = new ErosionTable(Block.STATE_IDS.size(), settings.energyMultiplier(),
+                settings.baseProbability());
+        int air = Block.getRawIdFromState(Blocks.AIR.getDefaultState());
+
+        for (BlockState state : Block.STATE_IDS) {
+            int id = Block.getRawIdFromState(state);
+
+            // Common Checks
+            if (state.isOf(Blocks.BEDROCK) || state.isOf(Blocks.OBSIDIAN))
+                continue;
+            if (state.isIn(BlockTags.FEATURES_CANNOT_REPLACE))
+                continue;
+
+            float hardness = state.getHardness(EmptyBlockView.INSTANCE, BlockPos.ORIGIN);
+            if (hardness < 0)
+                continue; // Unbreakable
+
+            // Resistance R = Hardness^2
+            table.resistance[id] = Math.max(0.1f, hardness * hardness);
+
+            Block converted = chain.get(state.getBlock());
+            if (converted != null) {
+                table.kind[id] = WEATHER;
+                table.target[id] = Block.getRawIdFromState(converted.getDefaultState());
+            } else if (hardness < 1.0f || state.isIn(BlockTags.SAND) || state.isOf(Blocks.GRAVEL)
+                    || state.isIn(BlockTags.DIRT)) {
+                table.kind[id] = WASH;
+                table.target[id] = air;
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,84 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Evaporation and drainage: the sinks that balance rain.
+ *
+ * Every few seconds a slice of the solver's tracked sections is scanned for
+ * shallow water. A shallow cell loses a level if it is open to the sky and not
+ * being rained on (faster in hot biomes), or if it sits on dirt or sand and
+ * soaks in. The sections are visited round-robin, so every tracked cell is
+ * seen eventually at a fixed cost per pass.
+ */
+public final class Evaporation {
+
+    private final ServerWorld world;
+    private final WaterSolver solver;
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+    private final LongArrayList cells = new LongArrayList();
+
+    private long[] sections = new long[0];
+    private int nextSection;
+    private int ticksUntilPass;
+
+    public Evaporation(ServerWorld world, WaterSolver solver) {
+        this.world = world;
+        this.solver = solver;
+    }
+
+    /**
+     * Called once per world tick. Returns the number of levels removed.
+     */
+    public int tick() {
+        if (!EmergentConfig.evaporationEnabled || --this.ticksUntilPass > 0)
+            return 0;
+        this.ticksUntilPass = EmergentConfig.evaporationIntervalTicks;
+
+        long start = EmergentMetrics.start();
+        WaterLevelStorage storage = this.solver.getStorage();
+        int removed = 0;
+
+        for (int i = 0; i < EmergentConfig.evaporationSectionsPerPass; i++) {
+            if (this.nextSection >= this.sections.length) {
+                // Start a new round over whatever is tracked now
+                this.sections = storage.getSectionKeys();
+                this.nextSection = 0;
+                if (this.sections.length == 0)
+                    break;
+            }
+            storage.collectShallow(this.sections[this.nextSection++], EmergentConfig.evaporationMaxDepth, this.cells);
+        }
+
+        for (int i = 0; i < this.cells.size(); i++) {
+            BlockPos pos = this.cursor.set(this.cells.getLong(i));
+            if (shouldDrain(pos)) {
+                removed += this.solver.removeWater(pos, 1);
+            }
+        }
+        this.cells.clear();
+
+        EmergentMetrics.record(EmergentMetrics.Metric.EVAPORATION, start, removed);
+        return removed;
+    }
+
+    private boolean shouldDrain(BlockPos pos) {
+        // Drainage: soaks into loose ground
+        BlockState below = this.world.getBlockState(pos.down());
+        if ((below.isIn(BlockTags.DIRT) || below.isIn(BlockTags.SAND))
+                && this.world.random.nextInt(100) < EmergentConfig.evaporationSoakPercent) {
+            return true;
+        }
+
+        // Evaporation: exposed and dry, scaled by biome temperature (deserts 2x)
+        if (!this.world.isSkyVisible(pos) || this.world.hasRain(pos))
+            return false;
+        float temperature = this.world.getBiome(pos).value().getTemperature();
+        double chance = EmergentConfig.evaporationPercent / 100.0 * Math.max(0.5, temperature);
+        return this.world.random.nextDouble() < chance;
+    }
+}
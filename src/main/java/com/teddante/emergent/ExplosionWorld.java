@@ -0,0 +1,23 @@
+package com.teddante.emergent;
+
+/**
+ * Where ChainReaction sets its blasts off.
+ * Backed by a ServerWorld in game (ServerExplosionWorld), and by a grid of
+ * containers in the headless simulation harness.
+ */
+public interface ExplosionWorld {
+
+    boolean isChunkLoaded(int chunkX, int chunkZ);
+
+    /**
+     * Set off a TNT blast and journal it.
+     *
+     * @param source what is blowing up, for the journal
+     */
+    void createExplosion(double x, double y, double z, float power, String source);
+
+    /**
+     * Journal a queued detonation that will never go off.
+     */
+    void onLost(double x, double y, double z, double tntEquivalent, String source);
+}
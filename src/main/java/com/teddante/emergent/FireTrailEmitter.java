@@ -0,0 +1,219 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Direction;
+
+/**
+ * Fire trails left by burning entities, placed by one emitter per world.
+ *
+ * Burning entities register themselves every tick they burn. Once per world
+ * tick the emitter visits them on a staggered schedule (each entity every
+ * fireTrail.intervalTicks, offset by its id) and skips the ones still in the
+ * block they were in at their last attempt. Entities whose turn comes after
+ * the tick's placement budget is spent are carried over and go first on the
+ * next tick, so the same ones don't lose out every time. Entities that stop
+ * burning or leave the world drop out on the next pass.
+ */
+public final class FireTrailEmitter {
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final ServerWorld world;
+    // Burning entity -> block position of its last attempt
+    private final Reference2LongOpenHashMap<Entity> burning = new Reference2LongOpenHashMap<>();
+    // Entities whose turn was skipped for budget, oldest first
+    private final ReferenceLinkedOpenHashSet<Entity> overdue = new ReferenceLinkedOpenHashSet<>();
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+    private final BlockPos.Mutable below = new BlockPos.Mutable();
+    private final FlammabilityCache flammability;
+
+    public FireTrailEmitter(ServerWorld world, FlammabilityCache flammability) {
+        this.world = world;
+        this.flammability = flammability;
+        this.burning.defaultReturnValue(NEVER);
+    }
+
+    /**
+     * Called every tick a burning entity ticks.
+     */
+    public void register(Entity entity) {
+        this.burning.putIfAbsent(entity, NEVER);
+    }
+
+    public int getBurningCount() {
+        return this.burning.size();
+    }
+
+    /**
+     * Called once per world tick. Returns the number of fires placed.
+     */
+    public int tick() {
+        if (this.burning.isEmpty())
+            return 0;
+
+        long start = EmergentMetrics.start();
+        long time = this.world.getTime();
+        int interval = EmergentConfig.fireTrailIntervalTicks;
+        int budget = EmergentConfig.fireTrailPlacementsPerTick;
+        int placed = 0;
+
+        // Carried over from the last tick
+        while (!this.overdue.isEmpty() && placed < budget) {
+            Entity entity = this.overdue.first();
+            if (entity.isRemoved() || !entity.isOnFire()) {
+                this.overdue.removeFirst();
+                continue;
+            }
+            int result = attempt(entity);
+            if (result < 0)
+                break;
+            this.overdue.removeFirst();
+            placed += result;
+        }
+
+        ObjectIterator<Reference2LongMap.Entry<Entity>> it = this.burning.reference2LongEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Reference2LongMap.Entry<Entity> entry = it.next();
+            Entity entity = entry.getKey();
+            if (entity.isRemoved() || !entity.isOnFire()) {
+                it.remove();
+                this.overdue.remove(entity);
+                continue;
+            }
+            if ((time + entity.getId()) % interval != 0 || this.overdue.contains(entity))
+                continue;
+
+            int result = placed < budget ? attempt(entity) : -1;
+            if (result < 0) {
+                this.overdue.add(entity);
+            } else {
+                placed += result;
+            }
+        }
+
+        EmergentMetrics.record(EmergentMetrics.Metric.FIRE_TRAIL, start, placed);
+        EmergentScheduler.charge(EmergentScheduler.Subsystem.FIRE_TRAIL, start);
+        return placed;
+    }
+
+    /**
+     * Try to leave a trail behind an entity. Returns the number of fires
+     * placed, or -1 if this tick's budget is spent.
+     */
+    private int attempt(Entity entity) {
+        // Nothing new to light until it moves to another block
+        BlockPos pos = entity.getBlockPos();
+        long key = pos.asLong();
+        if (key == this.burning.getLong(entity))
+            return 0;
+        if (!EmergentScheduler.hasBudget(EmergentScheduler.Subsystem.FIRE_TRAIL))
+            return -1;
+
+        // Fewer attempts when the server is behind. The block isn't remembered
+        // then, so the next pass tries it again
+        if (this.world.random.nextDouble() > EmergentScheduler.scale(1.0))
+            return 0;
+        // Existing key, so this is safe while tick() iterates the map
+        this.burning.put(entity, key);
+        return emit(entity, pos);
+    }
+
+    private int emit(Entity entity, BlockPos pos) {
+        EmergentEvents.FireTrail event = new EmergentEvents.FireTrail();
+        event.begin();
+        int placed = placeFireTrail(entity, pos);
+        event.end();
+        if (event.shouldCommit()) {
+            event.x = pos.getX();
+            event.y = pos.getY();
+            event.z = pos.getZ();
+            event.entityType = EntityType.getId(entity.getType()).toString();
+            event.firesPlaced = placed;
+            event.commit();
+        }
+        return placed;
+    }
+
+    /**
+     * Place fire around a burning entity. Returns the number of fires placed.
+     */
+    private int placeFireTrail(Entity entity, BlockPos feet) {
+        // PRIORITY 1: Try to place fire at the entity's feet (creates fire trails)
+        if (tryPlaceFireAt(this.cursor.set(feet), entity)) {
+            // Successfully placed fire at feet, also try adjacent positions for wider trail
+            int placed = 1;
+            for (Direction horizontal : Direction.Type.HORIZONTAL) {
+                if (this.world.random.nextFloat() < 0.3f // 30% chance for each adjacent
+                        && tryPlaceFireAt(this.cursor.set(feet, horizontal), entity)) {
+                    placed++;
+                }
+            }
+            return placed;
+        }
+
+        // PRIORITY 2: Check one block above feet (for when standing in grass/flowers)
+        if (tryPlaceFireAt(this.cursor.set(feet, Direction.UP), entity)) {
+            return 1;
+        }
+
+        // PRIORITY 3: Scan the entity's bounding box for any valid fire positions
+        Box box = entity.getBoundingBox();
+        int minX = (int) Math.floor(box.minX);
+        int minY = (int) Math.floor(box.minY);
+        int minZ = (int) Math.floor(box.minZ);
+        int maxX = (int) Math.ceil(box.maxX);
+        int maxY = (int) Math.ceil(box.maxY);
+        int maxZ = (int) Math.ceil(box.maxZ);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    if (tryPlaceFireAt(this.cursor.set(x, y, z), entity)) {
+                        return 1; // Only place one fire per attempt from bounding box scan
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Attempt to place fire at a position. Returns true if fire was placed.
+     */
+    private boolean tryPlaceFireAt(BlockPos pos, Entity entity) {
+        // Must be air, and fire must be able to exist here
+        if (!this.world.getBlockState(pos).isAir() || !canPlaceFireAt(pos, entity)) {
+            return false;
+        }
+        // The fire's scheduled tick keeps the position, so hand over a copy of the cursor
+        this.world.setBlockState(pos.toImmutable(), Blocks.FIRE.getDefaultState(), 3);
+        return true;
+    }
+
+    /**
+     * Fire needs either a flammable block below, or a solid block below and a
+     * flammable block adjacent.
+     */
+    private boolean canPlaceFireAt(BlockPos pos, Entity entity) {
+        BlockPos below = this.below.set(pos, Direction.DOWN);
+
+        // Can place fire on top of flammable blocks (wood, leaves, wool, etc.)
+        if (this.flammability.isBurnable(below)) {
+            return true;
+        }
+
+        // Can place fire on solid surfaces if there's something flammable nearby
+        // (bit test first, it rules out most candidates)
+        return this.flammability.isNextToBurnable(pos)
+                && this.world.getBlockState(below).isSolidSurface(this.world, below, entity, Direction.UP);
+    }
+}
@@ -0,0 +1,60 @@
+package com.teddante.emergent;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * The blocks FlammabilityCache and WildfireManager read and write.
+ * Backed by a ServerWorld in game (ServerFireWorld), and by a plain block
+ * array in the headless simulation harness.
+ */
+public interface FireWorld {
+
+    boolean isChunkLoaded(int chunkX, int chunkZ);
+
+    BlockState getBlockState(BlockPos pos);
+
+    /**
+     * The blocks of a section, or null if its chunk isn't loaded or it is
+     * outside the world.
+     */
+    Section getSection(int sectionX, int sectionY, int sectionZ);
+
+    int getBottomSectionCoord();
+
+    /**
+     * Section coordinate of the topmost section, inclusive.
+     */
+    int getTopSectionCoord();
+
+    /**
+     * Whether fire on this block burns forever (netherrack in the overworld).
+     */
+    boolean isInfiniburn(BlockState state);
+
+    /**
+     * Put out the fire at a position.
+     */
+    void removeFire(BlockPos pos);
+
+    /**
+     * Let fire spread into a block, the way a burning neighbour would.
+     */
+    void spreadFire(BlockPos pos, int spreadChance);
+
+    /**
+     * One 16 x 16 x 16 section of blocks.
+     */
+    interface Section {
+
+        /**
+         * False only if nothing in the section can burn.
+         */
+        boolean mayBurn();
+
+        /**
+         * @param x section-local coordinates, 0-15
+         */
+        BlockState getBlockState(int x, int y, int z);
+    }
+}
@@ -0,0 +1,203 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+
+/**
+ * Per-chunk-section bitsets of burnable cells and of cells next to a burnable
+ * block, so fire placement checks are bit tests instead of block state reads.
+ *
+ * A section is built the first time it is asked about (one pass over its
+ * blocks, skipped entirely when the palette has nothing burnable) and then
+ * kept in step by block changes: a cell that becomes or stops being burnable
+ * updates its own bit and the "next to burnable" bits of its six neighbours.
+ * Sections are dropped when their chunk unloads, and the sections of the
+ * surrounding chunks when a chunk loads, since their border bits could not see
+ * into it.
+ */
+public final class FlammabilityCache {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final FireWorld world;
+    private final Long2ObjectOpenHashMap<Section> sections = new Long2ObjectOpenHashMap<>();
+    private final BlockPos.Mutable neighbor = new BlockPos.Mutable();
+    private final BlockPos.Mutable probe = new BlockPos.Mutable();
+
+    public FlammabilityCache(FireWorld world) {
+        this.world = world;
+    }
+
+    public boolean isBurnable(BlockPos pos) {
+        Section section = section(pos);
+        if (section == null)
+            return this.world.getBlockState(pos).isBurnable();
+        return get(section.burnable, index(pos.getX(), pos.getY(), pos.getZ()));
+    }
+
+    /**
+     * Whether any of the six blocks around the position is burnable.
+     */
+    public boolean isNextToBurnable(BlockPos pos) {
+        Section section = section(pos);
+        if (section == null)
+            return burnableAround(pos.getX(), pos.getY(), pos.getZ());
+        return get(section.adjacent, index(pos.getX(), pos.getY(), pos.getZ()));
+    }
+
+    public void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        if (this.sections.isEmpty())
+            return;
+        boolean burnable = newState.isBurnable();
+        if (oldState.isBurnable() == burnable)
+            return;
+
+        Section own = this.sections.get(ChunkSectionPos.toLong(pos));
+        if (own != null) {
+            set(own.burnable, index(pos.getX(), pos.getY(), pos.getZ()), burnable);
+        }
+
+        for (Direction direction : DIRECTIONS) {
+            BlockPos next = this.neighbor.set(pos, direction);
+            Section section = this.sections.get(ChunkSectionPos.toLong(next));
+            if (section == null)
+                continue;
+            int x = next.getX();
+            int y = next.getY();
+            int z = next.getZ();
+            // Another neighbour may still keep it next to something burnable
+            set(section.adjacent, index(x, y, z), burnable || burnableAround(x, y, z));
+        }
+    }
+
+    public void onChunkLoaded(int chunkX, int chunkZ) {
+        if (this.sections.isEmpty())
+            return;
+        dropChunk(chunkX - 1, chunkZ);
+        dropChunk(chunkX + 1, chunkZ);
+        dropChunk(chunkX, chunkZ - 1);
+        dropChunk(chunkX, chunkZ + 1);
+    }
+
+    public void onChunkUnloaded(int chunkX, int chunkZ) {
+        if (this.sections.isEmpty())
+            return;
+        dropChunk(chunkX, chunkZ);
+    }
+
+    private void dropChunk(int chunkX, int chunkZ) {
+        for (int y = this.world.getBottomSectionCoord(); y <= this.world.getTopSectionCoord(); y++) {
+            this.sections.remove(ChunkSectionPos.asLong(chunkX, y, chunkZ));
+        }
+    }
+
+    private Section section(BlockPos pos) {
+        long key = ChunkSectionPos.toLong(pos);
+        Section section = this.sections.get(key);
+        if (section == null) {
+            section = build(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+            if (section != null) {
+                this.sections.put(key, section);
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Build a section's bitsets, or null if its chunk isn't loaded.
+     */
+    private Section build(int sectionX, int sectionY, int sectionZ) {
+        FireWorld.Section blocks = this.world.getSection(sectionX, sectionY, sectionZ);
+        if (blocks == null)
+            return null;
+        Section section = new Section();
+
+        boolean anyBurnable = blocks.mayBurn();
+        if (anyBurnable) {
+            for (int i = 0; i < 4096; i++) {
+                if (blocks.getBlockState(i & 15, i >> 8, (i >> 4) & 15).isBurnable()) {
+                    set(section.burnable, i, true);
+                }
+            }
+        }
+
+        // Neighbouring sections with nothing burnable can't make a border cell adjacent
+        boolean[] faceMayBurn = new boolean[DIRECTIONS.length];
+        boolean anyFace = false;
+        for (Direction direction : DIRECTIONS) {
+            FireWorld.Section next = this.world.getSection(sectionX + direction.getOffsetX(),
+                    sectionY + direction.getOffsetY(), sectionZ + direction.getOffsetZ());
+            faceMayBurn[direction.ordinal()] = next != null && next.mayBurn();
+            anyFace |= faceMayBurn[direction.ordinal()];
+        }
+        if (!anyBurnable && !anyFace)
+            return section;
+
+        int baseX = sectionX << 4;
+        int baseY = sectionY << 4;
+        int baseZ = sectionZ << 4;
+        for (int i = 0; i < 4096; i++) {
+            int x = i & 15;
+            int y = i >> 8;
+            int z = (i >> 4) & 15;
+            for (Direction direction : DIRECTIONS) {
+                int nx = x + direction.getOffsetX();
+                int ny = y + direction.getOffsetY();
+                int nz = z + direction.getOffsetZ();
+                boolean inside = (nx | ny | nz) >= 0 && nx < 16 && ny < 16 && nz < 16;
+                boolean burnable = inside
+                        ? get(section.burnable, ny << 8 | nz << 4 | nx)
+                        : faceMayBurn[direction.ordinal()] && burnableAt(baseX + nx, baseY + ny, baseZ + nz);
+                if (burnable) {
+                    set(section.adjacent, i, true);
+                    break;
+                }
+            }
+        }
+        return section;
+    }
+
+    private boolean burnableAround(int x, int y, int z) {
+        for (Direction direction : DIRECTIONS) {
+            if (burnableAt(x + direction.getOffsetX(), y + direction.getOffsetY(), z + direction.getOffsetZ()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Burnable test that never builds a section or loads a chunk.
+     */
+    private boolean burnableAt(int x, int y, int z) {
+        Section section = this.sections.get(ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4));
+        if (section != null)
+            return get(section.burnable, index(x, y, z));
+        if (!this.world.isChunkLoaded(x >> 4, z >> 4))
+            return false;
+        return this.world.getBlockState(this.probe.set(x, y, z)).isBurnable();
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >> 6] |= 1L << index;
+        } else {
+            bits[index >> 6] &= ~(1L << index);
+        }
+    }
+
+    private static final class Section {
+        final long[] burnable = new long[64];
+        final long[] adjacent = new long[64];
+    }
+}
@@ -0,0 +1,175 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.biome.Biome;
+
+import java.util.Arrays;
+
+/**
+ * Rain accumulation, batched per chunk.
+ *
+ * Vanilla's precipitation tick only marks a chunk as due. Once per world tick
+ * the due chunks are processed together, a bounded number of chunks and
+ * columns at a time. Each chunk caches its columns' top positions and whether
+ * it rains there (not snows), so a placement is an array read instead of a
+ * heightmap and biome lookup. A block change at or above a cached top marks
+ * that column stale.
+ *
+ * Rain is volume, not blocks: each hit adds a fraction of a level to its
+ * column, and only whole levels go to the water solver, which writes them with
+ * its next batched commit. A column needs several hits before anything in the
+ * world changes.
+ */
+public final class RainAccumulator {
+
+    private static final int STALE = Integer.MIN_VALUE;
+    private static final byte UNKNOWN = 0;
+    private static final byte RAINS = 1;
+    private static final byte DRY = 2;
+
+    private final ServerWorld world;
+    private final WaterSolver solver;
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+    private final Long2ObjectOpenHashMap<ChunkColumns> chunks = new Long2ObjectOpenHashMap<>();
+    // Insertion-ordered so chunks left over by the per-tick cap go first next time
+    private final LongLinkedOpenHashSet due = new LongLinkedOpenHashSet();
+
+    public RainAccumulator(ServerWorld world, WaterSolver solver) {
+        this.world = world;
+        this.solver = solver;
+    }
+
+    /**
+     * Called from vanilla's precipitation tick for a chunk.
+     */
+    public void onPrecipitationTick(BlockPos pos) {
+        if (this.world.isRaining()) {
+            this.due.add(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        }
+    }
+
+    public void onBlockChanged(BlockPos pos) {
+        ChunkColumns columns = this.chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (columns == null)
+            return;
+        int column = column(pos.getX(), pos.getZ());
+        // Only a change at the surface can move the top
+        if (columns.top[column] != STALE && pos.getY() >= columns.top[column] - 1) {
+            columns.top[column] = STALE;
+            columns.rain[column] = UNKNOWN;
+        }
+    }
+
+    public void onChunkUnloaded(int chunkX, int chunkZ) {
+        long key = ChunkPos.toLong(chunkX, chunkZ);
+        this.chunks.remove(key);
+        this.due.remove(key);
+    }
+
+    /**
+     * Called once per world tick. Returns the number of water levels added.
+     */
+    public int tick() {
+        if (this.due.isEmpty())
+            return 0;
+        if (!this.world.isRaining()) {
+            this.due.clear();
+            return 0;
+        }
+
+        long start = EmergentMetrics.start();
+        int placements = 0;
+        int chunksLeft = EmergentConfig.rainMaxChunksPerTick;
+
+        LongIterator it = this.due.iterator();
+        while (it.hasNext() && chunksLeft-- > 0
+                && EmergentScheduler.hasBudget(EmergentScheduler.Subsystem.RAIN)) {
+            long chunk = it.nextLong();
+            it.remove();
+            placements += accumulate(ChunkPos.getPackedX(chunk), ChunkPos.getPackedZ(chunk));
+        }
+
+        EmergentMetrics.record(EmergentMetrics.Metric.RAIN, start, placements);
+        EmergentScheduler.charge(EmergentScheduler.Subsystem.RAIN, start);
+        return placements;
+    }
+
+    private int accumulate(int chunkX, int chunkZ) {
+        if (!this.world.getChunkManager().isChunkLoaded(chunkX, chunkZ))
+            return 0;
+
+        ChunkColumns columns = this.chunks.computeIfAbsent(ChunkPos.toLong(chunkX, chunkZ), key -> new ChunkColumns());
+        int placements = 0;
+
+        for (int i = 0; i < EmergentConfig.rainColumnsPerChunk; i++) {
+            int column = this.world.random.nextInt(256);
+            int x = (chunkX << 4) | (column >> 4);
+            int z = (chunkZ << 4) | (column & 15);
+
+            if (columns.top[column] == STALE) {
+                BlockPos top = this.world.getTopPosition(Heightmap.Type.MOTION_BLOCKING, this.cursor.set(x, 0, z));
+                Biome biome = this.world.getBiome(top).value();
+                columns.top[column] = top.getY();
+                // Only accumulate in biomes where it actually rains (not freezes)
+                columns.rain[column] = biome.getPrecipitation(top, this.world.getSeaLevel()) == Biome.Precipitation.RAIN
+                        ? RAINS
+                        : DRY;
+            }
+            if (columns.rain[column] != RAINS)
+                continue;
+
+            placements += rainOn(columns, column, x, z);
+        }
+        return placements;
+    }
+
+    /**
+     * Collect rainfall in a column and hand every whole level to the solver:
+     * into the surface water if there is some and it isn't full, otherwise as
+     * a new puddle if the surface is open air. Never on top of full water
+     * (oceans stay put) and never into grass, crops or redstone.
+     * Returns the levels added.
+     */
+    private int rainOn(ChunkColumns columns, int column, int x, int z) {
+        double drop = EmergentScheduler.scale(EmergentConfig.rainDropPercent / 100.0);
+        float rainfall = columns.rainfall[column] + (float) drop;
+        int levels = (int) rainfall;
+        if (levels == 0) {
+            columns.rainfall[column] = rainfall;
+            return 0;
+        }
+
+        int top = columns.top[column];
+        int added = 0;
+        if (this.world.getFluidState(this.cursor.set(x, top - 1, z)).isIn(FluidTags.WATER)) {
+            added = this.solver.addWater(this.cursor, levels);
+        } else if (this.world.getBlockState(this.cursor.set(x, top, z)).isAir()) {
+            added = this.solver.addWater(this.cursor, levels);
+        }
+        // Whatever did not fit runs off
+        columns.rainfall[column] = rainfall - levels;
+        return added;
+    }
+
+    private static int column(int x, int z) {
+        return (x & 15) << 4 | (z & 15);
+    }
+
+    private static final class ChunkColumns {
+        final int[] top = new int[256];
+        final byte[] rain = new byte[256];
+        // Fraction of a water level collected so far
+        final float[] rainfall = new float[256];
+
+        ChunkColumns() {
+            Arrays.fill(this.top, STALE);
+        }
+    }
+}
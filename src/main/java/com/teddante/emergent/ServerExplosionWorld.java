@@ -0,0 +1,32 @@
+package com.teddante.emergent;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+
+/**
+ * ExplosionWorld over a live ServerWorld.
+ */
+public final class ServerExplosionWorld implements ExplosionWorld {
+
+    private final ServerWorld world;
+
+    public ServerExplosionWorld(ServerWorld world) {
+        this.world = world;
+    }
+
+    @Override
+    public boolean isChunkLoaded(int chunkX, int chunkZ) {
+        return this.world.getChunkManager().isChunkLoaded(chunkX, chunkZ);
+    }
+
+    @Override
+    public void createExplosion(double x, double y, double z, float power, String source) {
+        this.world.createExplosion(null, x, y, z, power, World.ExplosionSourceType.TNT);
+        EmergentJournal.explosion(this.world, x, y, z, power, source);
+    }
+
+    @Override
+    public void onLost(double x, double y, double z, double tntEquivalent, String source) {
+        EmergentJournal.lostDetonation(this.world, x, y, z, tntEquivalent, source);
+    }
+}
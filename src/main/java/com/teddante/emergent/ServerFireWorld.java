@@ -0,0 +1,83 @@
+package com.teddante.emergent;
+
+import com.teddante.emergent.mixin.FireBlockInvoker;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * FireWorld over a live ServerWorld.
+ */
+public final class ServerFireWorld implements FireWorld {
+
+    private final ServerWorld world;
+
+    public ServerFireWorld(ServerWorld world) {
+        this.world = world;
+    }
+
+    @Override
+    public boolean isChunkLoaded(int chunkX, int chunkZ) {
+        return this.world.getChunkManager().isChunkLoaded(chunkX, chunkZ);
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return this.world.getBlockState(pos);
+    }
+
+    @Override
+    public Section getSection(int sectionX, int sectionY, int sectionZ) {
+        WorldChunk chunk = this.world.getChunkManager().getWorldChunk(sectionX, sectionZ);
+        if (chunk == null)
+            return null;
+        int index = this.world.sectionCoordToIndex(sectionY);
+        ChunkSection[] array = chunk.getSectionArray();
+        return index >= 0 && index < array.length ? new LoadedSection(array[index]) : null;
+    }
+
+    @Override
+    public int getBottomSectionCoord() {
+        return this.world.getBottomSectionCoord();
+    }
+
+    @Override
+    public int getTopSectionCoord() {
+        return this.world.getTopSectionCoord();
+    }
+
+    @Override
+    public boolean isInfiniburn(BlockState state) {
+        return state.isIn(this.world.getDimension().infiniburn());
+    }
+
+    @Override
+    public void removeFire(BlockPos pos) {
+        this.world.removeBlock(pos, false);
+    }
+
+    @Override
+    public void spreadFire(BlockPos pos, int spreadChance) {
+        // Goes through FireBlockMixin, so the container and region checks apply
+        ((FireBlockInvoker) Blocks.FIRE).invokeTrySpreadingFire(this.world, pos, spreadChance, this.world.random, 0);
+    }
+
+    private record LoadedSection(ChunkSection blocks) implements Section {
+
+        @Override
+        public boolean mayBurn() {
+            // The palette answers without looking at every block
+            return !this.blocks.isEmpty()
+                    && this.blocks.getBlockStateContainer().hasAny(AbstractBlock.AbstractBlockState::isBurnable);
+        }
+
+        @Override
+        public BlockState getBlockState(int x, int y, int z) {
+            return this.blocks.getBlockState(x, y, z);
+        }
+    }
+}
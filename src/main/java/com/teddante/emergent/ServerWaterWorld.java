@@ -0,0 +1,56 @@
+package com.teddante.emergent;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * WaterWorld over a live ServerWorld.
+ */
+public final class ServerWaterWorld implements WaterWorld {
+
+    private final ServerWorld world;
+
+    public ServerWaterWorld(ServerWorld world) {
+        this.world = world;
+    }
+
+    @Override
+    public boolean isChunkLoaded(int chunkX, int chunkZ) {
+        return this.world.getChunkManager().isChunkLoaded(chunkX, chunkZ);
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return this.world.getBlockState(pos);
+    }
+
+    @Override
+    public void setWaterLevel(BlockPos pos, int level) {
+        BlockState currentState = this.world.getBlockState(pos);
+        BlockState newState = WaterPhysics.withWaterLevel(currentState, level);
+        if (newState == null)
+            return; // Non-water block, don't modify
+
+        // Destructive Flow: if the target is NOT Air and NOT Water, break it to
+        // place water here.
+        if (level > 0 && level < 8 && !currentState.isAir()
+                && !WaterPhysics.isWater(currentState.getFluidState().getFluid())) {
+            Block.dropStacks(currentState, this.world, pos,
+                    currentState.hasBlockEntity() ? this.world.getBlockEntity(pos) : null);
+        }
+
+        this.world.setBlockState(pos, newState, Block.NOTIFY_ALL);
+    }
+
+    @Override
+    public int getBottomSectionCoord() {
+        return this.world.getBottomSectionCoord();
+    }
+
+    @Override
+    public int getTopSectionCoord() {
+        return this.world.getTopSectionCoord();
+    }
+}
@@ -0,0 +1,90 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.entity.LockableContainerBlockEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+/**
+ * Per-chunk index of the containers that currently hold volatile items.
+ *
+ * Kept up to date when a container loads, unloads or is marked dirty (which
+ * vanilla does on every slot change). Explosions and fire ask this index for
+ * the few positions in their area instead of looking up the block entity of
+ * every block they touch.
+ */
+public final class VolatileContainerIndex {
+
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> chunks = new Long2ObjectOpenHashMap<>();
+    private int size;
+
+    /**
+     * Re-check a container's contents.
+     */
+    public void update(LockableContainerBlockEntity container) {
+        if (((VolatileInventory) container).emergent$getVolatileSummary().mayDetonate(container)) {
+            add(container.getPos());
+        } else {
+            remove(container.getPos());
+        }
+    }
+
+    public void add(BlockPos pos) {
+        LongOpenHashSet positions = this.chunks.computeIfAbsent(chunkOf(pos), key -> new LongOpenHashSet());
+        if (positions.add(pos.asLong())) {
+            this.size++;
+        }
+    }
+
+    public void remove(BlockPos pos) {
+        long chunk = chunkOf(pos);
+        LongOpenHashSet positions = this.chunks.get(chunk);
+        if (positions != null && positions.remove(pos.asLong())) {
+            this.size--;
+            if (positions.isEmpty()) {
+                this.chunks.remove(chunk);
+            }
+        }
+    }
+
+    public boolean contains(BlockPos pos) {
+        LongOpenHashSet positions = this.chunks.get(chunkOf(pos));
+        return positions != null && positions.contains(pos.asLong());
+    }
+
+    /**
+     * Append every indexed position inside the box (inclusive) to {@code out}.
+     */
+    public void collect(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, LongArrayList out) {
+        if (this.size == 0)
+            return;
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                LongOpenHashSet positions = this.chunks.get(ChunkPos.toLong(chunkX, chunkZ));
+                if (positions == null)
+                    continue;
+                LongIterator it = positions.iterator();
+                while (it.hasNext()) {
+                    long pos = it.nextLong();
+                    int x = BlockPos.unpackLongX(pos);
+                    int y = BlockPos.unpackLongY(pos);
+                    int z = BlockPos.unpackLongZ(pos);
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                        out.add(pos);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private static long chunkOf(BlockPos pos) {
+        return ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+}
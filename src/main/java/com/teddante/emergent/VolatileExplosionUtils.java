@@ -1,5 +1,6 @@
 package com.teddante.emergent;
 
+import net.minecraft.inventory.Inventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.registry.RegistryKeys;
 import net.minecraft.registry.tag.TagKey;
@@ -25,6 +26,13 @@ public class VolatileExplosionUtils {
      * Cap at 50 (server-crash safety limit).
      */
     public static float calculateExplosionPower(List<ItemStack> explosiveItems) {
+        return powerFromTntEquivalent(tntEquivalent(explosiveItems));
+    }
+
+    /**
+     * "TNT Equivalent" mass of a list of item stacks.
+     */
+    public static double tntEquivalent(List<ItemStack> explosiveItems) {
         int tntCount = 0;
         int weakCount = 0;
 
@@ -41,8 +49,24 @@ public class VolatileExplosionUtils {
 
         // Calculate "TNT Equivalent" mass
         // We assume 4 Gunpowder = 1 TNT (roughly crafting recipe balance)
-        double tntEquivalent = tntCount + (weakCount / 4.0);
+        return tntCount + (weakCount / 4.0);
+    }
+
+    /**
+     * "TNT Equivalent" mass of a single stack.
+     */
+    public static double tntEquivalent(ItemStack stack) {
+        if (stack.isIn(HIGH_EXPLOSIVES))
+            return stack.getCount();
+        if (stack.isIn(LOW_EXPLOSIVES))
+            return stack.getCount() / 4.0;
+        return 0.0;
+    }
 
+    /**
+     * Explosion power for a given TNT-equivalent mass (cube-root law).
+     */
+    public static float powerFromTntEquivalent(double tntEquivalent) {
         if (tntEquivalent <= 0)
             return 0.0f;
 
@@ -60,6 +84,17 @@ public class VolatileExplosionUtils {
         return power;
     }
 
+    /**
+     * TNT-equivalent mass of an explosion of the given power, the inverse of
+     * powerFromTntEquivalent. Lets other blasts (creepers) merge with the same law.
+     */
+    public static double tntEquivalentFromPower(float power) {
+        if (power <= 0)
+            return 0.0;
+        double relative = power / 4.0;
+        return relative * relative * relative;
+    }
+
     public static boolean isVolatile(ItemStack stack) {
         if (stack.isEmpty())
             return false;
@@ -67,46 +102,61 @@ public class VolatileExplosionUtils {
     }
 
     /**
-     * Checks a container for volatile items and triggers an explosion if found.
-     * Clears the volatile items before exploding to prevent recursion.
+     * Checks a container for volatile items and, if found, queues its
+     * detonation with the world's chain-reaction engine.
+     * Clears the volatile items right away so the same container can't be
+     * queued twice.
      *
      * @param world     The world instance
      * @param container The container to check
      * @param pos       The position of the container
-     * @return true if an explosion was triggered, false otherwise
+     * @return true if a detonation was queued, false otherwise
      */
     public static boolean tryExplodeVolatileContainer(
-            net.minecraft.world.World world,
+            net.minecraft.server.world.ServerWorld world,
             net.minecraft.block.entity.LockableContainerBlockEntity container,
             net.minecraft.util.math.BlockPos pos) {
+        return tryExplodeVolatileContainer(container, ((VolatileInventory) container).emergent$getVolatileSummary(),
+                pos, ((EmergentWorld) world).emergent$getChainReactions());
+    }
 
-        List<ItemStack> volatiles = new java.util.ArrayList<>();
-        for (int i = 0; i < container.size(); i++) {
-            ItemStack stack = container.getStack(i);
-            if (isVolatile(stack)) {
-                volatiles.add(stack);
-            }
-        }
-
-        if (volatiles.isEmpty()) {
-            return false;
+    /**
+     * Same as above with the summary and chain-reaction engine passed in, so
+     * the benchmarks can run it without a world.
+     */
+    static boolean tryExplodeVolatileContainer(Inventory container, VolatileSummary summary,
+            net.minecraft.util.math.BlockPos pos, ChainReaction chainReactions) {
+        EmergentEvents.VolatileContainer event = new EmergentEvents.VolatileContainer();
+        event.begin();
+        long start = EmergentMetrics.start();
+        int stacks = 0;
+        double mass = 0.0;
+        if (summary.mayDetonate(container)) {
+            stacks = summary.getStackCount(container);
+            // Clear items BEFORE the blast to prevent recursion
+            mass = summary.drain(container);
         }
-
-        float power = calculateExplosionPower(volatiles);
-        if (power <= 0) {
-            return false;
+        boolean exploded = mass > 0;
+        if (exploded) {
+            // Saves the emptied slots and drops the container from the volatile index
+            container.markDirty();
+            chainReactions.enqueue(pos.getX() + 0.5, pos.getY() + 0.5,
+                    pos.getZ() + 0.5, mass, "container");
         }
-
-        // Clear items BEFORE exploding to prevent recursion
-        for (ItemStack stack : volatiles) {
-            stack.setCount(0);
+        // Detonations are counted when the chain reaction sets them off
+        EmergentMetrics.record(EmergentMetrics.Metric.VOLATILE, start);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.x = pos.getX();
+            event.y = pos.getY();
+            event.z = pos.getZ();
+            event.slots = container.size();
+            event.volatileStacks = stacks;
+            event.power = powerFromTntEquivalent(mass);
+            event.exploded = exploded;
+            event.commit();
         }
-
-        // Create the explosion
-        world.createExplosion(null, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, power,
-                net.minecraft.world.World.ExplosionSourceType.TNT);
-
-        Emergent.LOGGER.debug("Volatile container explosion triggered at {} with power {}", pos, power);
-        return true;
+        return exploded;
     }
 }
@@ -0,0 +1,9 @@
+package com.teddante.emergent;
+
+/**
+ * Duck interface implemented on container block entities and the player
+ * inventory by LockableContainerBlockEntityMixin and PlayerInventoryMixin.
+ */
+public interface VolatileInventory {
+    VolatileSummary emergent$getVolatileSummary();
+}
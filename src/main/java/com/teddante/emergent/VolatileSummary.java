@@ -0,0 +1,106 @@
+package com.teddante.emergent;
+
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+
+import java.util.Arrays;
+
+/**
+ * Cached summary of the explosives in one inventory: high and low explosive
+ * counts and a mask of the slots holding them.
+ *
+ * Rebuilt with one slot scan after the inventory changes (the owning mixin
+ * calls invalidate()), so damage and fire handlers can ask whether a
+ * detonation is possible without walking the slots or doing tag lookups.
+ *
+ * Stacks used up in place (placing TNT by hand) don't invalidate anything, so
+ * the counts may run high until the next change; drain() recounts the masked
+ * slots and only reports what is really there.
+ */
+public final class VolatileSummary {
+
+    private boolean valid;
+    private int high;
+    private int low;
+    private int stacks;
+    private long[] slots = new long[1];
+
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * Whether the inventory may hold explosives. O(1) unless it changed since
+     * the last call.
+     */
+    public boolean mayDetonate(Inventory inventory) {
+        ensure(inventory);
+        return this.high > 0 || this.low > 0;
+    }
+
+    /**
+     * Number of slots holding explosives.
+     */
+    public int getStackCount(Inventory inventory) {
+        ensure(inventory);
+        return this.stacks;
+    }
+
+    /**
+     * Empty every slot holding explosives. Returns the TNT-equivalent mass
+     * removed.
+     */
+    public double drain(Inventory inventory) {
+        ensure(inventory);
+        double mass = 0;
+        for (int word = 0; word < this.slots.length; word++) {
+            long bits = this.slots[word];
+            while (bits != 0) {
+                int slot = word << 6 | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                ItemStack stack = inventory.getStack(slot);
+                if (VolatileExplosionUtils.isVolatile(stack)) {
+                    mass += VolatileExplosionUtils.tntEquivalent(stack);
+                    stack.setCount(0);
+                }
+            }
+        }
+        this.high = 0;
+        this.low = 0;
+        this.stacks = 0;
+        Arrays.fill(this.slots, 0L);
+        return mass;
+    }
+
+    private void ensure(Inventory inventory) {
+        if (this.valid)
+            return;
+
+        int size = inventory.size();
+        int words = (size + 63) >> 6;
+        if (this.slots.length != words) {
+            this.slots = new long[words];
+        } else {
+            Arrays.fill(this.slots, 0L);
+        }
+        this.high = 0;
+        this.low = 0;
+        this.stacks = 0;
+
+        for (int slot = 0; slot < size; slot++) {
+            ItemStack stack = inventory.getStack(slot);
+            if (!VolatileExplosionUtils.isVolatile(stack))
+                continue;
+            if (stack.isIn(VolatileExplosionUtils.HIGH_EXPLOSIVES)) {
+                this.high += stack.getCount();
+            } else if (stack.isIn(VolatileExplosionUtils.LOW_EXPLOSIVES)) {
+                this.low += stack.getCount();
+            } else {
+                continue; // Volatile but no explosive mass
+            }
+            this.slots[slot >> 6] |= 1L << slot;
+            this.stacks++;
+        }
+        this.valid = true;
+    }
+}
@@ -0,0 +1,151 @@
+package com.teddante.emergent;
+
+/**
+ * Horizontal equalization kernel for the Cellular Automata water.
+ *
+ * Pure and allocation-free: works on primitive levels only, so it can be
+ * unit tested and benchmarked without a Minecraft world.
+ *
+ * Neighbours are indexed 0..3 (north, east, south, west). Their levels are
+ * packed as 4-bit fields into one int (neighbour i at bits 4i..4i+3), and a
+ * 4-bit mask marks which neighbours water can flow into.
+ *
+ * Ties are broken by a caller-supplied seed instead of a global RNG, so the
+ * same input always produces the same output.
+ */
+public final class WaterEqualization {
+
+    private WaterEqualization() {
+    } // Utility class
+
+    // All 24 orderings of the 4 neighbours, 2 bits per slot
+    private static final int[] ORDERS = new int[24];
+
+    static {
+        int n = 0;
+        for (int a = 0; a < 4; a++)
+            for (int b = 0; b < 4; b++)
+                for (int c = 0; c < 4; c++)
+                    for (int d = 0; d < 4; d++)
+                        if (a != b && a != c && a != d && b != c && b != d && c != d)
+                            ORDERS[n++] = a | b << 2 | c << 4 | d << 6;
+    }
+
+    /**
+     * Equalize one source cell with its horizontal neighbours.
+     *
+     * Only neighbours lower than the source take part. The source gives water
+     * down to the average, never takes any. Distribution is an iterative fill:
+     * raise every neighbour at the current minimum by 1, repeat. When there is
+     * not enough left for all of them, the seed picks the winners.
+     *
+     * @param level          source level (0-8)
+     * @param neighborLevels packed neighbour levels
+     * @param flowMask       bit i set if neighbour i can receive water
+     * @param seed           tie-break seed, e.g. from {@link #seed}
+     * @return new source level in bits 16..19, new packed neighbour levels in
+     *         bits 0..15
+     */
+    public static int equalize(int level, int neighborLevels, int flowMask, int seed) {
+        int totalLevel = level;
+        int count = 1;
+        for (int i = 0; i < 4; i++) {
+            int neighborLevel = levelAt(neighborLevels, i);
+            if ((flowMask & (1 << i)) != 0 && neighborLevel < level) {
+                totalLevel += neighborLevel;
+                count++;
+            }
+        }
+
+        // Calculate target level (average, but we can only give, not take)
+        if (count <= 1)
+            return pack(level, neighborLevels);
+
+        int avgLevel = totalLevel / count;
+        if (level <= avgLevel)
+            return pack(level, neighborLevels);
+
+        int toDistribute = level - avgLevel;
+        int currentLevel = level;
+
+        while (toDistribute > 0) {
+            // Find current minimum level among valid, lower neighbours
+            int minLevel = 9; // Max is 8
+            for (int i = 0; i < 4; i++) {
+                int neighborLevel = levelAt(neighborLevels, i);
+                if ((flowMask & (1 << i)) != 0 && neighborLevel < currentLevel && neighborLevel < minLevel) {
+                    minLevel = neighborLevel;
+                }
+            }
+
+            // Collect all neighbours at this minimum level
+            int minMask = 0;
+            for (int i = 0; i < 4; i++) {
+                if ((flowMask & (1 << i)) != 0 && levelAt(neighborLevels, i) == minLevel
+                        && minLevel < currentLevel) {
+                    minMask |= 1 << i;
+                }
+            }
+
+            if (minMask == 0)
+                break;
+
+            int winners = Integer.bitCount(minMask);
+            if (toDistribute < winners) {
+                // Not enough to go around: the seed picks which ones get water
+                int order = ORDERS[Integer.remainderUnsigned(seed, ORDERS.length)];
+                int chosen = 0;
+                for (int slot = 0; slot < 4 && Integer.bitCount(chosen) < toDistribute; slot++) {
+                    int i = (order >>> (slot << 1)) & 3;
+                    if ((minMask & (1 << i)) != 0) {
+                        chosen |= 1 << i;
+                    }
+                }
+                minMask = chosen;
+                winners = toDistribute;
+            }
+
+            for (int i = 0; i < 4; i++) {
+                if ((minMask & (1 << i)) != 0) {
+                    neighborLevels += 1 << (i << 2);
+                }
+            }
+            currentLevel -= winners;
+            toDistribute -= winners;
+        }
+
+        return pack(currentLevel, neighborLevels);
+    }
+
+    public static int levelAt(int packedLevels, int index) {
+        return (packedLevels >>> (index << 2)) & 0xF;
+    }
+
+    public static int withLevel(int packedLevels, int index, int level) {
+        int shift = index << 2;
+        return (packedLevels & ~(0xF << shift)) | (level << shift);
+    }
+
+    public static int sourceLevel(int result) {
+        return (result >>> 16) & 0xF;
+    }
+
+    public static int neighborLevels(int result) {
+        return result & 0xFFFF;
+    }
+
+    /**
+     * Position-hashed tie-break seed. The salt (e.g. the pass number) keeps a
+     * cell from always favouring the same neighbour.
+     */
+    public static int seed(long pos, long salt) {
+        long h = pos * 0x9E3779B97F4A7C15L + salt;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (h ^ (h >>> 31));
+    }
+
+    private static int pack(int level, int neighborLevels) {
+        return level << 16 | (neighborLevels & 0xFFFF);
+    }
+}
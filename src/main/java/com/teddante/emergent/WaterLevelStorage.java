@@ -0,0 +1,173 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+/**
+ * Side-car storage for the water simulation.
+ *
+ * Keeps one 4-bit cell per block, packed 16 to a long, for every chunk section
+ * the solver has touched (4096 cells = long[256] = 2 KiB per section). Reading
+ * a neighbour is a shift and a mask instead of a palette lookup plus
+ * getFluidState().getLevel().
+ *
+ * Cells are packed along Y, so one long is one 16-block column slice. Two
+ * chunks that are not neighbours never share a long, which lets the parallel
+ * solver write chunk borders from different threads without atomics.
+ *
+ * Cell values:
+ * 0 = UNKNOWN (not read from the world yet)
+ * 1..9 = open cell holding water level 0..8
+ * 10 = BLOCKED (water cannot enter)
+ * 11 = empty waterloggable block
+ * 12 = waterlogged block (level 8)
+ */
+public final class WaterLevelStorage {
+
+    public static final int UNKNOWN = 0;
+    public static final int BLOCKED = 10;
+    public static final int WATERLOGGABLE_EMPTY = 11;
+    public static final int WATERLOGGABLE_FULL = 12;
+
+    private static final int SECTION_LONGS = 4096 / 16;
+
+    private final Long2ObjectOpenHashMap<long[]> sections = new Long2ObjectOpenHashMap<>();
+
+    // Server thread view
+    private final View main = new View();
+
+    public int get(int x, int y, int z) {
+        return this.main.get(x, y, z);
+    }
+
+    public void set(int x, int y, int z, int value) {
+        this.main.set(x, y, z, value);
+    }
+
+    /**
+     * Update a cell only if its section is already tracked.
+     * Used for block changes made outside the solver.
+     */
+    public void setIfTracked(int x, int y, int z, int value) {
+        if (this.main.section(x, y, z, false) != null) {
+            this.main.set(x, y, z, value);
+        }
+    }
+
+    public View getMainView() {
+        return this.main;
+    }
+
+    /**
+     * A separate view for a worker thread. Views never create sections, so
+     * several can read the section map at once while the server thread waits.
+     */
+    public View view() {
+        return new View();
+    }
+
+    /**
+     * Drop every section of an unloading chunk. The world is the source of
+     * truth again once the chunk comes back.
+     */
+    public void unloadChunk(int chunkX, int chunkZ, int bottomSectionY, int topSectionY) {
+        for (int sectionY = bottomSectionY; sectionY <= topSectionY; sectionY++) {
+            this.sections.remove(ChunkSectionPos.asLong(chunkX, sectionY, chunkZ));
+        }
+        this.main.reset();
+    }
+
+    public long[] getSectionKeys() {
+        return this.sections.keySet().toLongArray();
+    }
+
+    /**
+     * Append the position of every open cell in a section holding water at a
+     * level from 1 to maxLevel. Empty column slices are skipped a long at a time.
+     */
+    public void collectShallow(long sectionKey, int maxLevel, LongArrayList out) {
+        long[] section = this.sections.get(sectionKey);
+        if (section == null)
+            return;
+
+        int baseX = ChunkSectionPos.unpackX(sectionKey) << 4;
+        int baseY = ChunkSectionPos.unpackY(sectionKey) << 4;
+        int baseZ = ChunkSectionPos.unpackZ(sectionKey) << 4;
+        for (int i = 0; i < SECTION_LONGS; i++) {
+            long word = section[i];
+            if (word == 0)
+                continue;
+            for (int y = 0; y < 16; y++) {
+                int value = (int) (word >>> (y << 2)) & 0xF;
+                if (value >= 2 && value <= maxLevel + 1) {
+                    // i is (x << 4 | z), see index()
+                    out.add(BlockPos.asLong(baseX + (i >>> 4), baseY + y, baseZ + (i & 15)));
+                }
+            }
+        }
+    }
+
+    public int getSectionCount() {
+        return this.sections.size();
+    }
+
+    public static int level(int value) {
+        if (value >= 1 && value <= 9)
+            return value - 1;
+        return value == WATERLOGGABLE_FULL ? 8 : 0;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (x & 15) << 8 | (z & 15) << 4 | (y & 15);
+    }
+
+    public final class View {
+        // Most lookups hit the same section as the previous one
+        private long lastKey = Long.MIN_VALUE;
+        private long[] lastSection;
+
+        private View() {
+        }
+
+        public int get(int x, int y, int z) {
+            long[] section = section(x, y, z, false);
+            if (section == null)
+                return UNKNOWN;
+            int index = index(x, y, z);
+            return (int) (section[index >>> 4] >>> ((index & 15) << 2)) & 0xF;
+        }
+
+        public void set(int x, int y, int z, int value) {
+            long[] section = section(x, y, z, this == WaterLevelStorage.this.main);
+            if (section == null)
+                return;
+            int index = index(x, y, z);
+            int shift = (index & 15) << 2;
+            section[index >>> 4] = (section[index >>> 4] & ~(0xFL << shift)) | ((long) value << shift);
+        }
+
+        private long[] section(int x, int y, int z, boolean create) {
+            long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+            if (key == this.lastKey)
+                return this.lastSection;
+
+            long[] section = WaterLevelStorage.this.sections.get(key);
+            if (section == null) {
+                if (!create)
+                    return null;
+                section = new long[SECTION_LONGS];
+                WaterLevelStorage.this.sections.put(key, section);
+            }
+            this.lastKey = key;
+            this.lastSection = section;
+            return section;
+        }
+
+        private void reset() {
+            this.lastKey = Long.MIN_VALUE;
+            this.lastSection = null;
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.teddante.emergent;
 
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.Waterloggable;
 import net.minecraft.fluid.Fluid;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.fluid.Fluids;
 import net.minecraft.fluid.WaterFluid;
+import net.minecraft.state.property.Properties;
 
 /**
  * Centralized water physics helper.
@@ -19,4 +25,39 @@ public final class WaterPhysics {
     public static boolean isWater(Fluid fluid) {
         return fluid instanceof WaterFluid;
     }
+
+    /**
+     * The block state that shows a water level (0-8) at a cell currently
+     * holding currentState, or null if the cell must not be modified.
+     */
+    public static BlockState withWaterLevel(BlockState currentState, int level) {
+        FluidState currentFluidState = currentState.getFluidState();
+
+        if (level <= 0) {
+            // Remove water - check if it's a waterlogged block first
+            if (currentState.contains(Properties.WATERLOGGED) && currentState.get(Properties.WATERLOGGED)) {
+                return currentState.with(Properties.WATERLOGGED, false);
+            } else if (!currentState.isAir() && currentFluidState.isEmpty()) {
+                return null; // Non-water block, don't modify
+            }
+            return Blocks.AIR.getDefaultState();
+        } else if (level >= 8) {
+            if (isWaterloggableTarget(currentState)) {
+                return currentState.with(Properties.WATERLOGGED, true);
+            }
+            // Use still/source for level 8 so buckets can pick it up
+            return Fluids.WATER.getStill(false).getBlockState();
+        }
+
+        // Partial levels (1-7)
+        // CRITICAL FIX: Always pass falling=false for partial levels.
+        return Fluids.WATER.getFlowing(level, false).getBlockState();
+    }
+
+    private static boolean isWaterloggableTarget(BlockState state) {
+        if (state.getBlock() instanceof Waterloggable) {
+            return state.contains(Properties.WATERLOGGED) && !state.get(Properties.WATERLOGGED);
+        }
+        return false;
+    }
 }
@@ -0,0 +1,645 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import it.unimi.dsi.fastutil.longs.LongComparator;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Waterloggable;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.state.property.Properties;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * World-level Cellular Automata water solver.
+ *
+ * Scheduled water ticks no longer move water on their own. They only wake
+ * their cell. Every WATER_TICK_RATE ticks the solver:
+ * 1. Reads the active cells and their neighbours from the WaterLevelStorage
+ * 2. Runs gravity, then horizontal equalization, on that storage (bottom-up)
+ * 3. Syncs block states only for cells whose level differs at the end of the pass
+ *
+ * Sleep/Wake: a cell that moves no volume in a pass goes to sleep. It is only
+ * woken again when a neighbour's level changes, or when a block update
+ * schedules a fluid tick on it. Settled pools therefore cost nothing.
+ *
+ * With water.parallel enabled, large passes are split by chunk and run on a
+ * fork-join pool (see runParallel).
+ *
+ * Volume conservation rules are the same as the old per-block tick:
+ * water moves, it is never created or destroyed, and waterloggable sources
+ * only ever hold 0 or 8.
+ */
+public final class WaterSolver {
+
+    // Water tick rate is 5 ticks
+    public static final int WATER_TICK_RATE = 5;
+
+    // Working cell layout: [flags:2][level:4]
+    private static final int LEVEL_MASK = 0xF;
+    private static final int FLOWABLE = 1 << 4;
+    private static final int WATERLOGGABLE = 1 << 5;
+    private static final int MISSING = -1;
+
+    private static final Direction[] HORIZONTAL = { Direction.NORTH, Direction.EAST, Direction.SOUTH,
+            Direction.WEST };
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static final LongComparator CELL_ORDER = (a, b) -> {
+        int cmp = Integer.compare(BlockPos.unpackLongY(a), BlockPos.unpackLongY(b));
+        if (cmp != 0)
+            return cmp;
+        cmp = Integer.compare(BlockPos.unpackLongX(a), BlockPos.unpackLongX(b));
+        return cmp != 0 ? cmp : Integer.compare(BlockPos.unpackLongZ(a), BlockPos.unpackLongZ(b));
+    };
+
+    // Shared by every world, created on first parallel pass
+    private static ForkJoinPool pool;
+
+    private final WaterWorld world;
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+    private final WaterLevelStorage storage = new WaterLevelStorage();
+
+    // Cells that moved volume during the current pass (or were changed through
+    // addWater/removeWater since the last one), mapped to their stored value before that
+    private final Long2IntOpenHashMap changed = new Long2IntOpenHashMap();
+    // Cells that moved volume in the last pass, for the erosion stage
+    private final LongArrayList moved = new LongArrayList();
+
+    private LongOpenHashSet active = new LongOpenHashSet();
+    private LongOpenHashSet next = new LongOpenHashSet();
+    private int ticksUntilPass = WATER_TICK_RATE;
+    // Salts the equalization tie-breaks
+    private long passes;
+    // Set by the scheduler; cells over the cap wait for the next pass
+    private int maxCellsPerPass = Integer.MAX_VALUE;
+    // Last cell of the previous over-budget pass; the next window starts after it
+    private boolean windowed;
+    private long windowEnd;
+
+    // Loads and sets single cells between passes
+    private final Partition loader;
+
+    // World height, inclusive; everything outside is a wall
+    private final int bottomY;
+    private final int topY;
+
+    public WaterSolver(WaterWorld world) {
+        this.world = world;
+        this.bottomY = ChunkSectionPos.getBlockCoord(world.getBottomSectionCoord());
+        this.topY = ChunkSectionPos.getBlockCoord(world.getTopSectionCoord() + 1) - 1;
+        this.changed.defaultReturnValue(MISSING);
+        this.loader = new Partition(this.storage.getMainView(), true, this.changed, new long[0], 0, 0);
+    }
+
+    /**
+     * Wake a water cell so it is simulated in the next solver pass.
+     */
+    public void wake(BlockPos pos) {
+        this.active.add(pos.asLong());
+    }
+
+    /**
+     * Number of cells currently awake.
+     */
+    public int getActiveCount() {
+        return this.active.size();
+    }
+
+    public void setMaxCellsPerPass(int maxCellsPerPass) {
+        this.maxCellsPerPass = Math.max(1, maxCellsPerPass);
+    }
+
+    /**
+     * Cells that moved volume in the last pass. Valid until the next pass.
+     */
+    public LongList getMovedCells() {
+        return this.moved;
+    }
+
+    public WaterLevelStorage getStorage() {
+        return this.storage;
+    }
+
+    /**
+     * Keep the storage in sync with block changes made outside the solver.
+     */
+    public void onBlockChanged(BlockPos pos, BlockState newState) {
+        this.storage.setIfTracked(pos.getX(), pos.getY(), pos.getZ(), toStored(encode(newState)));
+    }
+
+    /**
+     * Add water to a cell from outside the simulation (rain). Only whole levels
+     * exist: the volume goes into the level storage now and the block changes
+     * with the next pass's batched commit. Returns the levels actually added.
+     */
+    public int addWater(BlockPos pos, int levels) {
+        long key = pos.asLong();
+        int cell = this.loader.load(key);
+        // Waterloggables only hold full blocks, so partial rain can't enter them
+        if ((cell & FLOWABLE) == 0 || (cell & WATERLOGGABLE) != 0)
+            return 0;
+
+        int level = cell & LEVEL_MASK;
+        int added = Math.min(levels, 8 - level);
+        if (added <= 0)
+            return 0;
+
+        this.loader.setLevel(key, cell, level + added);
+        this.active.add(key);
+        return added;
+    }
+
+    /**
+     * Take water out of a cell from outside the simulation (evaporation,
+     * drainage). Counterpart of {@link #addWater}. Returns the levels removed.
+     */
+    public int removeWater(BlockPos pos, int levels) {
+        long key = pos.asLong();
+        int cell = this.loader.load(key);
+        if ((cell & FLOWABLE) == 0 || (cell & WATERLOGGABLE) != 0)
+            return 0;
+
+        int level = cell & LEVEL_MASK;
+        int removed = Math.min(levels, level);
+        if (removed <= 0)
+            return 0;
+
+        this.loader.setLevel(key, cell, level - removed);
+        this.active.add(key);
+        return removed;
+    }
+
+    public void onChunkUnloaded(int chunkX, int chunkZ) {
+        this.storage.unloadChunk(chunkX, chunkZ, this.world.getBottomSectionCoord(),
+                this.world.getTopSectionCoord());
+
+        // Water added since the last pass can't be committed into an unloaded chunk
+        if (!this.changed.isEmpty()) {
+            this.changed.keySet().removeIf((long pos) -> BlockPos.unpackLongX(pos) >> 4 == chunkX
+                    && BlockPos.unpackLongZ(pos) >> 4 == chunkZ);
+        }
+    }
+
+    /**
+     * Called once per world tick. Runs a solver pass every WATER_TICK_RATE ticks.
+     * Returns the number of cells simulated this tick.
+     */
+    public int tick() {
+        if (--this.ticksUntilPass > 0)
+            return 0;
+        this.ticksUntilPass = WATER_TICK_RATE;
+        this.passes++;
+
+        if (this.active.isEmpty())
+            return 0;
+
+        // Swap buffers: every cell goes to sleep unless something wakes it again
+        LongOpenHashSet pending = this.active;
+        this.active = this.next;
+        this.next = pending;
+
+        EmergentEvents.WaterBatch event = new EmergentEvents.WaterBatch();
+        event.begin();
+        long start = EmergentMetrics.start();
+        long[] cells = pending.toLongArray();
+        pending.clear();
+
+        // Bottom-up, then x/z: deterministic and lets lower cells drain first
+        LongArrays.quickSort(cells, CELL_ORDER);
+
+        // Over budget: run a window of cells starting after the last window's
+        // end, wrapping around, so cells kept awake low down can't starve the
+        // ones above them. The rest stay awake for the next pass
+        if (cells.length > this.maxCellsPerPass) {
+            cells = takeWindow(cells);
+        } else {
+            this.windowed = false;
+        }
+
+        boolean parallel = EmergentConfig.waterParallel && cells.length >= EmergentConfig.waterParallelMinCells;
+        if (parallel) {
+            runParallel(cells);
+        } else {
+            new Partition(this.storage.getMainView(), true, this.changed, cells, 0, cells.length).run();
+        }
+
+        wakeChanged();
+        int changedCells = this.changed.size();
+        int writes = commit();
+        this.moved.clear();
+        this.moved.addAll(this.changed.keySet());
+        this.changed.clear();
+        EmergentMetrics.record(EmergentMetrics.Metric.WATER, start, cells.length);
+
+        event.end();
+        if (event.shouldCommit()) {
+            // The lowest cell stands in for the batch position
+            event.x = BlockPos.unpackLongX(cells[0]);
+            event.y = BlockPos.unpackLongY(cells[0]);
+            event.z = BlockPos.unpackLongZ(cells[0]);
+            event.cells = cells.length;
+            event.changedCells = changedCells;
+            event.blockWrites = writes;
+            event.parallel = parallel;
+            event.commit();
+        }
+        return cells.length;
+    }
+
+    /**
+     * Pick maxCellsPerPass of the sorted cells, starting after windowEnd and
+     * wrapping around, and put the others back in the active set. The window
+     * is returned in bottom-up order.
+     */
+    private long[] takeWindow(long[] cells) {
+        int budget = this.maxCellsPerPass;
+        int from = this.windowed ? firstAfter(cells, this.windowEnd) : 0;
+        long[] window = new long[budget];
+        for (int i = 0; i < cells.length; i++) {
+            long cell = cells[(from + i) % cells.length];
+            if (i < budget) {
+                window[i] = cell;
+            } else {
+                this.active.add(cell);
+            }
+        }
+        this.windowed = true;
+        this.windowEnd = window[budget - 1];
+        if (from + budget > cells.length) {
+            // Wrapped past the top: the low cells came last
+            LongArrays.quickSort(window, CELL_ORDER);
+        }
+        return window;
+    }
+
+    /**
+     * Index of the first cell ordered after {@code pos}, or 0 if there is none.
+     */
+    private static int firstAfter(long[] cells, long pos) {
+        int low = 0;
+        int high = cells.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (CELL_ORDER.compare(cells[mid], pos) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low == cells.length ? 0 : low;
+    }
+
+    /**
+     * Region-parallel pass.
+     *
+     * Cells are grouped by chunk and chunks are coloured by (x & 1, z & 1). A
+     * cell only ever touches its own column and its four horizontal neighbours,
+     * so two chunks of the same colour can never write the same cell. The four
+     * colours run one after another; chunks within a colour run on the pool.
+     * Each chunk records its changes separately and they are merged in colour
+     * then chunk order, so the result does not depend on thread timing.
+     */
+    private void runParallel(long[] cells) {
+        // 1. Prefetch on the server thread so workers never touch the world
+        Partition prefetch = new Partition(this.storage.getMainView(), true, this.changed, cells, 0, 0);
+        for (long pos : cells) {
+            prefetch.load(pos);
+            prefetch.load(BlockPos.offset(pos, Direction.DOWN));
+            for (Direction dir : HORIZONTAL) {
+                prefetch.load(BlockPos.offset(pos, dir));
+            }
+        }
+
+        // 2. Group by chunk, keeping the bottom-up order inside each chunk
+        long[] ordered = cells.clone();
+        LongArrays.mergeSort(ordered, (a, b) -> Long.compare(chunkOf(a), chunkOf(b)));
+
+        List<List<Partition>> colours = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            colours.add(new ArrayList<>());
+        }
+
+        int start = 0;
+        while (start < ordered.length) {
+            long chunk = chunkOf(ordered[start]);
+            int end = start + 1;
+            while (end < ordered.length && chunkOf(ordered[end]) == chunk) {
+                end++;
+            }
+            int colour = (ChunkPos.getPackedX(chunk) & 1) | (ChunkPos.getPackedZ(chunk) & 1) << 1;
+            colours.get(colour).add(new Partition(this.storage.view(), false, new Long2IntOpenHashMap(), ordered,
+                    start, end));
+            start = end;
+        }
+
+        // 3. One colour at a time, then merge: the earliest recorded original wins
+        ForkJoinPool pool = getPool();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (List<Partition> colour : colours) {
+            tasks.clear();
+            for (Partition partition : colour) {
+                tasks.add(pool.submit(partition));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            for (Partition partition : colour) {
+                ObjectIterator<Long2IntMap.Entry> it = partition.changed.long2IntEntrySet().fastIterator();
+                while (it.hasNext()) {
+                    Long2IntMap.Entry entry = it.next();
+                    this.changed.putIfAbsent(entry.getLongKey(), entry.getIntValue());
+                }
+            }
+        }
+    }
+
+    private static long chunkOf(long pos) {
+        return ChunkPos.toLong(ChunkSectionPos.getSectionCoord(BlockPos.unpackLongX(pos)),
+                ChunkSectionPos.getSectionCoord(BlockPos.unpackLongZ(pos)));
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(EmergentConfig.waterThreads);
+        }
+        return pool;
+    }
+
+    /**
+     * Sync block states for every cell whose visible level changed, in one batch.
+     * Cells that gained and lost the same amount during the pass are left alone.
+     * Returns the number of block writes.
+     */
+    private int commit() {
+        // Snapshot first: block updates fired by the writes below feed back into
+        // the storage through onBlockChanged
+        long[] positions = new long[this.changed.size()];
+        int[] levels = new int[positions.length];
+        int count = 0;
+
+        ObjectIterator<Long2IntMap.Entry> it = this.changed.long2IntEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Long2IntMap.Entry entry = it.next();
+            long pos = entry.getLongKey();
+            int level = WaterLevelStorage.level(get(pos));
+            if (level != WaterLevelStorage.level(entry.getIntValue())) {
+                positions[count] = pos;
+                levels[count] = level;
+                count++;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            this.world.setWaterLevel(this.cursor.set(positions[i]), levels[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Keep every cell that moved volume awake, and wake its neighbours.
+     * Neighbours known to be dry or solid are skipped.
+     */
+    private void wakeChanged() {
+        LongIterator it = this.changed.keySet().iterator();
+        while (it.hasNext()) {
+            long pos = it.nextLong();
+            if (WaterLevelStorage.level(get(pos)) > 0) {
+                this.active.add(pos);
+            }
+            for (Direction dir : DIRECTIONS) {
+                long neighbor = BlockPos.offset(pos, dir);
+                int stored = get(neighbor);
+                if (stored == WaterLevelStorage.UNKNOWN || WaterLevelStorage.level(stored) > 0) {
+                    this.active.add(neighbor);
+                }
+            }
+        }
+    }
+
+    private int get(long pos) {
+        return this.storage.get(BlockPos.unpackLongX(pos), BlockPos.unpackLongY(pos), BlockPos.unpackLongZ(pos));
+    }
+
+    private static int toStored(int cell) {
+        if ((cell & FLOWABLE) == 0)
+            return WaterLevelStorage.BLOCKED;
+        int level = cell & LEVEL_MASK;
+        if ((cell & WATERLOGGABLE) != 0)
+            return level >= 8 ? WaterLevelStorage.WATERLOGGABLE_FULL : WaterLevelStorage.WATERLOGGABLE_EMPTY;
+        return level + 1;
+    }
+
+    private static int fromStored(int stored) {
+        return switch (stored) {
+            case WaterLevelStorage.BLOCKED -> 0;
+            case WaterLevelStorage.WATERLOGGABLE_EMPTY -> FLOWABLE | WATERLOGGABLE;
+            case WaterLevelStorage.WATERLOGGABLE_FULL -> FLOWABLE | WATERLOGGABLE | 8;
+            default -> FLOWABLE | (stored - 1);
+        };
+    }
+
+    private static int encode(BlockState state) {
+        int cell = 0;
+        if (canFlowInto(state)) {
+            cell |= FLOWABLE;
+            FluidState fluidState = state.getFluidState();
+            if (WaterPhysics.isWater(fluidState.getFluid())) {
+                cell |= fluidState.getLevel();
+            }
+        }
+        if (state.getBlock() instanceof Waterloggable) {
+            cell |= WATERLOGGABLE;
+        }
+        return cell;
+    }
+
+    private static boolean isValidSourceLevel(int cell, int level) {
+        // Waterloggable blocks (Fences, Slabs, etc) used as SOURCE only support binary
+        // water states.
+        if ((cell & WATERLOGGABLE) != 0) {
+            return level == 0 || level == 8;
+        }
+        return true;
+    }
+
+    private static boolean canFlowInto(BlockState state) {
+        if (state.isAir())
+            return true;
+        if (WaterPhysics.isWater(state.getFluidState().getFluid()))
+            return true;
+        // Allow flowing into waterloggable blocks
+        if (state.getBlock() instanceof Waterloggable) {
+            if (state.contains(Properties.WATERLOGGED) && !state.get(Properties.WATERLOGGED)) {
+                return true;
+            }
+        }
+        // Allow flowing into any non-solid block (High grass, flowers, etc)
+        // Also allow flowing into waterloggable blocks even without the property set
+        // (redundant but safe)
+        return !state.isSolid() || state.getBlock() instanceof Waterloggable;
+    }
+
+    /**
+     * A run of cells stepped in order against one storage view.
+     *
+     * The serial pass uses a single partition that may read the world. In
+     * parallel mode each chunk gets its own partition; every cell it can touch
+     * was prefetched on the server thread, so workers only see the storage.
+     */
+    private final class Partition implements Runnable {
+        private final WaterLevelStorage.View view;
+        private final boolean readWorld;
+        private final Long2IntOpenHashMap changed;
+        private final long[] cells;
+        private final int from;
+        private final int to;
+
+        // Scratch space for the horizontal step
+        private final long[] neighbors = new long[4];
+        private final int[] neighborCells = new int[4];
+
+        private Partition(WaterLevelStorage.View view, boolean readWorld, Long2IntOpenHashMap changed,
+                long[] cells, int from, int to) {
+            this.view = view;
+            this.readWorld = readWorld;
+            this.changed = changed;
+            this.cells = cells;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            for (int i = this.from; i < this.to; i++) {
+                step(this.cells[i]);
+            }
+        }
+
+        /**
+         * One CA step for a single cell, against the level storage.
+         */
+        private void step(long pos) {
+            int cell = load(pos);
+            int currentLevel = cell & LEVEL_MASK;
+            if (currentLevel <= 0)
+                return;
+
+            // STEP 1: Gravity - try to flow down
+            long below = BlockPos.offset(pos, Direction.DOWN);
+            int belowCell = load(below);
+
+            if ((belowCell & FLOWABLE) != 0) {
+                int belowLevel = belowCell & LEVEL_MASK;
+                int spaceBelow = 8 - belowLevel;
+
+                if (spaceBelow > 0) {
+                    int transfer = Math.min(currentLevel, spaceBelow);
+
+                    // CONSTRAINT: Waterloggable blocks (Source only) are binary.
+                    // We DO NOT check the Target: a partial flow into a waterloggable
+                    // target destructively replaces it to preserve the water volume.
+                    if (transfer > 0 && !isValidSourceLevel(cell, currentLevel - transfer)) {
+                        if (currentLevel - transfer > 0) {
+                            transfer = 0; // Abort: Cannot partially drain source
+                        }
+                    }
+
+                    if (transfer > 0) {
+                        setLevel(below, belowCell, belowLevel + transfer);
+                        setLevel(pos, cell, currentLevel - transfer);
+                        return;
+                    }
+                }
+            }
+
+            // STEP 2: Horizontal equalization
+
+            // Constraint: If Source is Waterloggable (restrictive), we cannot partially
+            // drain it horizontally. The block update from below clearing up wakes it.
+            if ((cell & WATERLOGGABLE) != 0)
+                return;
+
+            int neighborLevels = 0;
+            int flowMask = 0;
+            for (int i = 0; i < 4; i++) {
+                long neighborPos = BlockPos.offset(pos, HORIZONTAL[i]);
+                int neighborCell = load(neighborPos);
+                this.neighbors[i] = neighborPos;
+                this.neighborCells[i] = neighborCell;
+
+                if ((neighborCell & FLOWABLE) != 0) {
+                    neighborLevels = WaterEqualization.withLevel(neighborLevels, i, neighborCell & LEVEL_MASK);
+                    flowMask |= 1 << i;
+                }
+            }
+
+            int result = WaterEqualization.equalize(currentLevel, neighborLevels, flowMask,
+                    WaterEqualization.seed(pos, WaterSolver.this.passes));
+            int newLevel = WaterEqualization.sourceLevel(result);
+            if (newLevel == currentLevel)
+                return;
+
+            int newNeighborLevels = WaterEqualization.neighborLevels(result);
+            for (int i = 0; i < 4; i++) {
+                int neighborLevel = WaterEqualization.levelAt(newNeighborLevels, i);
+                if ((flowMask & (1 << i)) != 0 && neighborLevel != (this.neighborCells[i] & LEVEL_MASK)) {
+                    setLevel(this.neighbors[i], this.neighborCells[i], neighborLevel);
+                }
+            }
+            setLevel(pos, cell, newLevel);
+        }
+
+        /**
+         * Fetch a cell from the storage, reading it from the world on first use.
+         */
+        private int load(long pos) {
+            int x = BlockPos.unpackLongX(pos);
+            int y = BlockPos.unpackLongY(pos);
+            int z = BlockPos.unpackLongZ(pos);
+
+            // Below the void or above the build limit: never stored, never flowed into
+            if (y < WaterSolver.this.bottomY || y > WaterSolver.this.topY)
+                return 0;
+
+            int stored = this.view.get(x, y, z);
+            if (stored != WaterLevelStorage.UNKNOWN)
+                return fromStored(stored);
+
+            if (!this.readWorld)
+                return 0; // Prefetched: anything still unknown is unloaded
+
+            if (!WaterSolver.this.world.isChunkLoaded(ChunkSectionPos.getSectionCoord(x),
+                    ChunkSectionPos.getSectionCoord(z))) {
+                return 0; // Unloaded: treat as a wall, but don't remember it
+            }
+
+            int cell = encode(WaterSolver.this.world.getBlockState(WaterSolver.this.cursor.set(x, y, z)));
+            this.view.set(x, y, z, toStored(cell));
+            return cell;
+        }
+
+        private void setLevel(long pos, int cell, int level) {
+            // A partial level destructively replaces a waterloggable target with plain water
+            if (level > 0 && level < 8) {
+                cell &= ~WATERLOGGABLE;
+            }
+            this.changed.putIfAbsent(pos, toStored(cell));
+            this.view.set(BlockPos.unpackLongX(pos), BlockPos.unpackLongY(pos), BlockPos.unpackLongZ(pos),
+                    toStored((cell & ~LEVEL_MASK) | level));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.teddante.emergent;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * The blocks the WaterSolver reads and writes.
+ * Backed by a ServerWorld in game (ServerWaterWorld), and by a plain block
+ * array in the headless simulation harness.
+ */
+public interface WaterWorld {
+
+    boolean isChunkLoaded(int chunkX, int chunkZ);
+
+    BlockState getBlockState(BlockPos pos);
+
+    /**
+     * Materialize a water level (0-8) at a position as a block state.
+     */
+    void setWaterLevel(BlockPos pos, int level);
+
+    int getBottomSectionCoord();
+
+    /**
+     * Section coordinate of the topmost section, inclusive (as in vanilla's
+     * HeightLimitView).
+     */
+    int getTopSectionCoord();
+}
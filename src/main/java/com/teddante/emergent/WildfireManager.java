@@ -0,0 +1,239 @@
+package com.teddante.emergent;
+
+import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+
+/**
+ * Keeps wildfires bounded.
+ *
+ * Fire never ages out (see FireBlockMixin), so one ignition can otherwise grow
+ * across a whole loaded forest with every fire block ticking. The manager
+ * counts the fire blocks in each region (4 x 4 chunks) and caps them:
+ * <ul>
+ * <li>Spreading into a full region is deferred: the ignition is queued and
+ * replayed, a few per tick, once the region has room again.</li>
+ * <li>Nothing spreads into a full region, through burning blocks or by
+ * lighting the air next to them, so the count can't keep climbing. The fires
+ * already there keep ticking the vanilla way: they age, burn out, burn away
+ * their fuel and are put out by rain, which makes room again.</li>
+ * <li>Once a region is half full, interior fires (nothing left to burn next to
+ * them) go out on their next tick instead of smouldering, which frees room
+ * for the front.</li>
+ * </ul>
+ * Fires on infiniburn blocks (netherrack) are never put out.
+ */
+public final class WildfireManager {
+
+    // Regions are 64 x 64 blocks
+    private static final int REGION_SHIFT = 6;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final FireWorld world;
+    private final FlammabilityCache flammability;
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+    private final BlockPos.Mutable below = new BlockPos.Mutable();
+
+    // Chunk -> fire positions, so a chunk's fires can be dropped when it unloads
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> fires = new Long2ObjectOpenHashMap<>();
+    private final Long2IntOpenHashMap regions = new Long2IntOpenHashMap();
+    // Deferred ignitions: position -> spread chance, oldest first
+    private final Long2IntLinkedOpenHashMap deferred = new Long2IntLinkedOpenHashMap();
+
+    // Per-tick scratch: ignitions taken off the queue, as (position, spread chance)
+    private final LongArrayList replay = new LongArrayList();
+    private final LongArrayList requeue = new LongArrayList();
+    private final BlockPos.Mutable neighbor = new BlockPos.Mutable();
+
+    public WildfireManager(FireWorld world, FlammabilityCache flammability) {
+        this.world = world;
+        this.flammability = flammability;
+    }
+
+    public int getFireCount() {
+        int count = 0;
+        for (LongOpenHashSet positions : this.fires.values()) {
+            count += positions.size();
+        }
+        return count;
+    }
+
+    public int getDeferredCount() {
+        return this.deferred.size();
+    }
+
+    public void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        boolean wasFire = oldState.isOf(Blocks.FIRE);
+        boolean isFire = newState.isOf(Blocks.FIRE);
+        if (wasFire == isFire)
+            return;
+        if (isFire) {
+            track(pos.asLong());
+        } else {
+            untrack(pos.asLong());
+        }
+    }
+
+    public void onChunkUnloaded(int chunkX, int chunkZ) {
+        LongOpenHashSet positions = this.fires.remove(ChunkPos.toLong(chunkX, chunkZ));
+        if (positions != null) {
+            long region = region(chunkX << 4, chunkZ << 4);
+            if (this.regions.addTo(region, -positions.size()) <= positions.size()) {
+                this.regions.remove(region);
+            }
+        }
+        if (!this.deferred.isEmpty()) {
+            this.deferred.keySet().removeIf((long pos) -> BlockPos.unpackLongX(pos) >> 4 == chunkX
+                    && BlockPos.unpackLongZ(pos) >> 4 == chunkZ);
+        }
+    }
+
+    /**
+     * Called at the start of a fire block's scheduled tick. Returns true if the
+     * fire was put out and vanilla's tick should be skipped.
+     */
+    public boolean onFireTick(BlockPos pos) {
+        if (!EmergentConfig.wildfireEnabled)
+            return false;
+
+        // Fires loaded with their chunk weren't placed while we were watching
+        long key = pos.asLong();
+        track(key);
+        int count = this.regions.get(region(pos.getX(), pos.getZ()));
+        int cap = EmergentConfig.wildfireMaxFiresPerRegion;
+
+        if (count * 2 >= cap && isInterior(pos)) {
+            this.world.removeFire(pos);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the region around a position is at its fire cap.
+     */
+    public boolean isRegionFull(BlockPos pos) {
+        return EmergentConfig.wildfireEnabled
+                && this.regions.get(region(pos.getX(), pos.getZ())) >= EmergentConfig.wildfireMaxFiresPerRegion;
+    }
+
+    /**
+     * Called before fire spreads into a block. Returns true if the target's
+     * region is full and the ignition was queued instead.
+     */
+    public boolean deferIgnition(BlockPos pos, int spreadChance) {
+        if (!isRegionFull(pos))
+            return false;
+        long key = pos.asLong();
+        if (this.deferred.containsKey(key)) {
+            this.deferred.put(key, Math.max(spreadChance, this.deferred.get(key)));
+        } else if (this.deferred.size() < EmergentConfig.wildfireMaxQueued) {
+            this.deferred.put(key, spreadChance);
+        }
+        // Past the queue limit the ignition is dropped; the fire tries again next tick anyway
+        return true;
+    }
+
+    /**
+     * Called once per world tick. Returns the number of deferred ignitions
+     * replayed.
+     */
+    public int tick() {
+        if (this.deferred.isEmpty())
+            return 0;
+
+        long start = EmergentMetrics.start();
+        int budget = EmergentConfig.wildfireIgnitionsPerTick;
+        // Look a little past the budget for ignitions whose region has room
+        int scan = budget * 4;
+        int replayed = 0;
+
+        // Take them off the queue first: spreading fire can defer new ignitions.
+        // Ignitions into regions that are still full go to the back, so one big
+        // fire can't keep the head of the queue to itself.
+        while (!this.deferred.isEmpty() && this.replay.size() < budget * 2 && scan-- > 0) {
+            long key = this.deferred.firstLongKey();
+            int spreadChance = this.deferred.removeFirstInt();
+            boolean full = this.regions.get(region(BlockPos.unpackLongX(key), BlockPos.unpackLongZ(key)))
+                    >= EmergentConfig.wildfireMaxFiresPerRegion;
+            LongArrayList target = full ? this.requeue : this.replay;
+            target.add(key);
+            target.add(spreadChance);
+        }
+        for (int i = 0; i < this.requeue.size(); i += 2) {
+            this.deferred.put(this.requeue.getLong(i), (int) this.requeue.getLong(i + 1));
+        }
+        this.requeue.clear();
+
+        for (int i = 0; i < this.replay.size(); i += 2) {
+            BlockPos pos = this.cursor.set(this.replay.getLong(i));
+            // Burnt or removed in the meantime, or the fire that reached it is gone
+            if (!this.flammability.isBurnable(pos) || !isNextToFire(pos))
+                continue;
+            // Goes through FireBlockMixin again, so a region that filled up meanwhile defers it again
+            this.world.spreadFire(pos.toImmutable(), (int) this.replay.getLong(i + 1));
+            replayed++;
+        }
+        this.replay.clear();
+
+        EmergentMetrics.record(EmergentMetrics.Metric.WILDFIRE, start, replayed);
+        return replayed;
+    }
+
+    /**
+     * Whether a fire block is still burning next to the position. Neighbours in
+     * unloaded chunks count as no fire.
+     */
+    private boolean isNextToFire(BlockPos pos) {
+        for (Direction direction : DIRECTIONS) {
+            BlockPos next = this.neighbor.set(pos, direction);
+            if (this.world.isChunkLoaded(next.getX() >> 4, next.getZ() >> 4)
+                    && this.world.getBlockState(next).isOf(Blocks.FIRE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A fire with nothing burnable next to it is behind the front.
+     */
+    private boolean isInterior(BlockPos pos) {
+        if (this.flammability.isNextToBurnable(pos))
+            return false;
+        BlockState ground = this.world.getBlockState(this.below.set(pos, Direction.DOWN));
+        return !this.world.isInfiniburn(ground);
+    }
+
+    private void track(long pos) {
+        long chunk = ChunkPos.toLong(BlockPos.unpackLongX(pos) >> 4, BlockPos.unpackLongZ(pos) >> 4);
+        if (this.fires.computeIfAbsent(chunk, key -> new LongOpenHashSet()).add(pos)) {
+            this.regions.addTo(region(BlockPos.unpackLongX(pos), BlockPos.unpackLongZ(pos)), 1);
+        }
+    }
+
+    private void untrack(long pos) {
+        long chunk = ChunkPos.toLong(BlockPos.unpackLongX(pos) >> 4, BlockPos.unpackLongZ(pos) >> 4);
+        LongOpenHashSet positions = this.fires.get(chunk);
+        if (positions == null || !positions.remove(pos))
+            return;
+        if (positions.isEmpty()) {
+            this.fires.remove(chunk);
+        }
+        long region = region(BlockPos.unpackLongX(pos), BlockPos.unpackLongZ(pos));
+        if (this.regions.addTo(region, -1) <= 1) {
+            this.regions.remove(region);
+        }
+    }
+
+    private static long region(int x, int z) {
+        return ChunkPos.toLong(x >> REGION_SHIFT, z >> REGION_SHIFT);
+    }
+}
@@ -0,0 +1,31 @@
+package com.teddante.emergent.mixin;
+
+import com.teddante.emergent.EmergentWorld;
+import com.teddante.emergent.VolatileInventory;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.LockableContainerBlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(BlockEntity.class)
+public abstract class BlockEntityMixin {
+
+    /**
+     * Containers mark themselves dirty on every slot change, which is when
+     * their volatile summary goes stale and the volatile container index needs
+     * to look at them again.
+     */
+    @Inject(method = "markDirty()V", at = @At("TAIL"))
+    private void emergent$updateVolatileIndex(CallbackInfo ci) {
+        BlockEntity self = (BlockEntity) (Object) this;
+        if (!(self instanceof LockableContainerBlockEntity container))
+            return;
+        ((VolatileInventory) container).emergent$getVolatileSummary().invalidate();
+        if (!self.isRemoved() && self.getWorld() instanceof ServerWorld world) {
+            ((EmergentWorld) world).emergent$getVolatileIndex().update(container);
+        }
+    }
+}
@@ -1,46 +1,73 @@
 package com.teddante.emergent.mixin;
 
+import com.teddante.emergent.EmergentWorld;
 import com.teddante.emergent.VolatileExplosionUtils;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.LockableContainerBlockEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.explosion.ExplosionImpl;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Mixin(ExplosionImpl.class)
 public abstract class ExplosionMixin {
 
+    // A ray starts with at most 1.3 * power and loses 0.225 every 0.3 blocks
+    @Unique
+    private static final double emergent$REACH_PER_POWER = 1.3 / 0.225 * 0.3;
+
+    @Unique
+    private static final LongArrayList emergent$candidates = new LongArrayList();
+
     @Shadow
     public abstract ServerWorld getWorld();
 
+    @Shadow
+    public abstract Vec3d getPosition();
+
+    @Shadow
+    public abstract float getPower();
+
     @Inject(method = "destroyBlocks", at = @At("HEAD"))
     private void checkVolatileBlocks(List<BlockPos> affectedBlocks, CallbackInfo ci) {
-        World world = this.getWorld();
-
-        // The original code had a copy of affectedBlocks, which might be necessary
-        // if the list is modified during iteration or if new explosions affect the same
-        // list.
-        // For now, we'll iterate directly over the provided list.
-        // If concurrent modification issues arise, a copy should be made.
-
-        // Create a copy of the list to prevent ConcurrentModificationException
-        // if the recursive explosion modifies the original list within the same tick.
-        List<BlockPos> affectedBlocksCopy = new ArrayList<>(affectedBlocks);
-
-        for (BlockPos pos : affectedBlocksCopy) {
-            BlockEntity be = world.getBlockEntity(pos);
-            if (be instanceof LockableContainerBlockEntity container) {
-                VolatileExplosionUtils.tryExplodeVolatileContainer(world, container, pos);
+        ServerWorld world = this.getWorld();
+
+        // Only the indexed containers within the blast's reach can be hit
+        Vec3d center = this.getPosition();
+        int reach = MathHelper.ceil(this.getPower() * emergent$REACH_PER_POWER);
+        int x = MathHelper.floor(center.x);
+        int y = MathHelper.floor(center.y);
+        int z = MathHelper.floor(center.z);
+
+        // Shared scratch list: always leave it empty, even if a handler throws
+        try {
+            ((EmergentWorld) world).emergent$getVolatileIndex().collect(x - reach, y - reach, z - reach,
+                    x + reach, y + reach, z + reach, emergent$candidates);
+
+            // Containers only queue their detonation (see ChainReaction), so nothing
+            // explodes while we iterate and the list can't change under us.
+            BlockPos.Mutable pos = new BlockPos.Mutable();
+            for (int i = 0; i < emergent$candidates.size(); i++) {
+                pos.set(emergent$candidates.getLong(i));
+                if (!affectedBlocks.contains(pos))
+                    continue;
+                BlockEntity be = world.getBlockEntity(pos);
+                if (be instanceof LockableContainerBlockEntity container) {
+                    VolatileExplosionUtils.tryExplodeVolatileContainer(world, container, pos.toImmutable());
+                }
             }
+        } finally {
+            emergent$candidates.clear();
         }
     }
 }
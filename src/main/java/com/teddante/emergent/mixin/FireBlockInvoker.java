@@ -0,0 +1,14 @@
+package com.teddante.emergent.mixin;
+
+import net.minecraft.block.FireBlock;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(FireBlock.class)
+public interface FireBlockInvoker {
+    @Invoker("trySpreadingFire")
+    void invokeTrySpreadingFire(World world, BlockPos pos, int spreadChance, Random random, int age);
+}
@@ -1,5 +1,7 @@
 package com.teddante.emergent.mixin;
 
+import com.teddante.emergent.EmergentWorld;
+import net.minecraft.block.BlockState;
 import net.minecraft.block.FireBlock;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.LockableContainerBlockEntity;
@@ -7,12 +9,14 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldView;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.ModifyArg;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import com.teddante.emergent.VolatileExplosionUtils;
 
@@ -28,17 +32,50 @@ public abstract class FireBlockMixin {
         // If we are about to spread fire TO a block, check if that block is a volatile
         // container.
         // We only care if it's a server world (explosions are server-side).
-        if (world instanceof ServerWorld) {
+        // The volatile container index answers for the common case of no container.
+        if (world instanceof ServerWorld serverWorld
+                && ((EmergentWorld) serverWorld).emergent$getVolatileIndex().contains(pos)) {
 
             // Check if the target block is a volatile container
             BlockEntity be = world.getBlockEntity(pos);
             if (be instanceof LockableContainerBlockEntity container) {
-                if (VolatileExplosionUtils.tryExplodeVolatileContainer(world, container, pos)) {
-                    // We destroyed the block with an explosion, cancel the fire spread
+                if (VolatileExplosionUtils.tryExplodeVolatileContainer(serverWorld, container, pos)) {
+                    // The container is about to explode, cancel the fire spread
                     ci.cancel();
+                    return;
                 }
             }
         }
+
+        // Spreading into a region that already has its share of fire waits its turn
+        if (world instanceof ServerWorld serverWorld
+                && ((EmergentWorld) serverWorld).emergent$getWildfires().deferIgnition(pos, spreadChance)) {
+            ci.cancel();
+        }
+    }
+
+    /**
+     * Let the wildfire manager put out interior fires before vanilla ticks them.
+     */
+    @Inject(method = "scheduledTick", at = @At("HEAD"), cancellable = true)
+    private void emergent$limitWildfire(BlockState state, ServerWorld world, BlockPos pos, Random random,
+            CallbackInfo ci) {
+        if (((EmergentWorld) world).emergent$getWildfires().onFireTick(pos)) {
+            ci.cancel();
+        }
+    }
+
+    /**
+     * Vanilla asks this for every air block around a burning fire before
+     * lighting it. A full region reports no spread chance, so the air there
+     * stays unlit while the fire's own aging and burnout carry on.
+     */
+    @Inject(method = "getSpreadChance(Lnet/minecraft/world/WorldView;Lnet/minecraft/util/math/BlockPos;)I", at = @At("HEAD"), cancellable = true)
+    private void emergent$limitAirSpread(WorldView world, BlockPos pos, CallbackInfoReturnable<Integer> cir) {
+        if (world instanceof ServerWorld serverWorld
+                && ((EmergentWorld) serverWorld).emergent$getWildfires().isRegionFull(pos)) {
+            cir.setReturnValue(0);
+        }
     }
 
     // Use @ModifyArg instead of @Redirect for better mod compatibility.
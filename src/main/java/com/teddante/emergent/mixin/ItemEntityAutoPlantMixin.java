@@ -1,7 +1,8 @@
 package com.teddante.emergent.mixin;
 
-import com.teddante.emergent.Emergent;
-import net.minecraft.block.BlockState;
+import com.teddante.emergent.EmergentJournal;
+import com.teddante.emergent.EmergentMetrics;
+import com.teddante.emergent.EmergentScheduler;
 import net.minecraft.entity.ItemEntity;
 import net.minecraft.item.AutomaticItemPlacementContext;
 import net.minecraft.item.BlockItem;
@@ -40,6 +41,10 @@ public abstract class ItemEntityAutoPlantMixin {
     @Shadow
     public abstract int getItemAge();
 
+    // Set while a deferred plant attempt for this item is in the scheduler queue
+    @Unique
+    private boolean emergent$plantQueued;
+
     @Inject(method = "tick", at = @At("TAIL"))
     private void tryAutoPlant(CallbackInfo ci) {
         ItemEntity self = (ItemEntity) (Object) this;
@@ -50,12 +55,30 @@ public abstract class ItemEntityAutoPlantMixin {
             return;
         }
 
-        ItemStack stack = getStack();
-
         // Must be a plantable BlockItem
-        if (!stack.isIn(PLANTABLES)) {
+        if (!getStack().isIn(PLANTABLES)) {
             return;
         }
+
+        if (EmergentScheduler.hasBudget(EmergentScheduler.Subsystem.AUTO_PLANT)) {
+            long start = EmergentMetrics.start();
+            emergent$plant(self, world);
+            EmergentScheduler.charge(EmergentScheduler.Subsystem.AUTO_PLANT, start);
+        } else if (!this.emergent$plantQueued) {
+            // Out of budget: queue it, oldest items (closest to despawning) first
+            this.emergent$plantQueued = true;
+            EmergentScheduler.submit(EmergentScheduler.Subsystem.AUTO_PLANT, -getItemAge(), () -> {
+                this.emergent$plantQueued = false;
+                if (!self.isRemoved() && self.isOnGround()) {
+                    emergent$plant(self, world);
+                }
+            });
+        }
+    }
+
+    @Unique
+    private void emergent$plant(ItemEntity self, World world) {
+        ItemStack stack = getStack();
         if (!(stack.getItem() instanceof BlockItem blockItem)) {
             return;
         }
@@ -68,9 +91,12 @@ public abstract class ItemEntityAutoPlantMixin {
 
         // Delegate entirely to vanilla placement - handles validation, sounds, game
         // events, decrement
-        if (blockItem.place(context).isAccepted()) {
-            BlockState placed = world.getBlockState(pos);
-            Emergent.LOGGER.debug("Auto-planted {} at {}", placed.getBlock(), pos);
+        long start = EmergentMetrics.start();
+        boolean planted = blockItem.place(context).isAccepted();
+        EmergentMetrics.record(EmergentMetrics.Metric.AUTO_PLANT, start, planted ? 1 : 0);
+
+        if (planted) {
+            EmergentJournal.autoPlant(world, pos, world.getBlockState(pos));
 
             // Discard entity if stack is now empty
             if (stack.isEmpty()) {
@@ -1,13 +1,12 @@
 package com.teddante.emergent.mixin;
 
-import com.teddante.emergent.Emergent;
+import com.teddante.emergent.EmergentWorld;
 import com.teddante.emergent.VolatileExplosionUtils;
 import net.minecraft.entity.ItemEntity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.item.ItemStack;
 import net.minecraft.registry.tag.DamageTypeTags;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.world.World;
 import net.minecraft.world.explosion.Explosion;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -15,8 +14,6 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
-import java.util.List;
-
 /**
  * Makes dropped explosive items (ItemEntity) react to fire, lava, and
  * explosions.
@@ -64,21 +61,18 @@ public abstract class ItemEntityVolatileMixin {
             ItemStack stack = self.getStack();
 
             if (VolatileExplosionUtils.isVolatile(stack)) {
-                float power = VolatileExplosionUtils.calculateExplosionPower(List.of(stack));
+                double mass = VolatileExplosionUtils.tntEquivalent(stack);
 
-                if (power > 0) {
+                if (mass > 0) {
                     // Clear stack BEFORE exploding to prevent recursion
                     // (explosion -> damage -> check volatile -> explosion)
-                    int count = stack.getCount();
                     stack.setCount(0);
                     self.discard();
 
-                    // Create explosion at item location
-                    world.createExplosion(null, self.getX(), self.getY(), self.getZ(),
-                            power, World.ExplosionSourceType.TNT);
-
-                    Emergent.LOGGER.debug("Volatile ItemEntity detonated: {} x{} at {} with power {}",
-                            stack.getItem(), count, self.getBlockPos(), power);
+                    // Explode at item location at the end of the tick, merged with
+                    // the rest of the pile (see ChainReaction)
+                    ((EmergentWorld) world).emergent$getChainReactions().enqueue(self.getX(), self.getY(),
+                            self.getZ(), mass, "item");
                 }
             }
         }
@@ -0,0 +1,23 @@
+package com.teddante.emergent.mixin;
+
+import com.teddante.emergent.VolatileInventory;
+import com.teddante.emergent.VolatileSummary;
+import net.minecraft.block.entity.LockableContainerBlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+/**
+ * Gives every container its volatile summary. Invalidated from
+ * BlockEntityMixin when the container is marked dirty.
+ */
+@Mixin(LockableContainerBlockEntity.class)
+public abstract class LockableContainerBlockEntityMixin implements VolatileInventory {
+
+    @Unique
+    private final VolatileSummary emergent$volatileSummary = new VolatileSummary();
+
+    @Override
+    public VolatileSummary emergent$getVolatileSummary() {
+        return this.emergent$volatileSummary;
+    }
+}
@@ -0,0 +1,44 @@
+package com.teddante.emergent.mixin;
+
+import com.teddante.emergent.VolatileInventory;
+import com.teddante.emergent.VolatileSummary;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Gives the player inventory a volatile summary and drops it on every slot
+ * change (pickups, inventory clicks, commands, death).
+ */
+@Mixin(PlayerInventory.class)
+public abstract class PlayerInventoryMixin implements VolatileInventory {
+
+    @Unique
+    private final VolatileSummary emergent$volatileSummary = new VolatileSummary();
+
+    @Override
+    public VolatileSummary emergent$getVolatileSummary() {
+        return this.emergent$volatileSummary;
+    }
+
+    @Inject(method = { "setStack", "markDirty", "clear" }, at = @At("HEAD"))
+    private void emergent$invalidateOnChange(CallbackInfo ci) {
+        this.emergent$volatileSummary.invalidate();
+    }
+
+    @Inject(method = { "removeStack(I)Lnet/minecraft/item/ItemStack;",
+            "removeStack(II)Lnet/minecraft/item/ItemStack;" }, at = @At("HEAD"))
+    private void emergent$invalidateOnRemove(CallbackInfoReturnable<ItemStack> cir) {
+        this.emergent$volatileSummary.invalidate();
+    }
+
+    @Inject(method = "insertStack(ILnet/minecraft/item/ItemStack;)Z", at = @At("HEAD"))
+    private void emergent$invalidateOnInsert(CallbackInfoReturnable<Boolean> cir) {
+        this.emergent$volatileSummary.invalidate();
+    }
+}
@@ -1,5 +1,6 @@
 package com.teddante.emergent.mixin;
 
+import com.teddante.emergent.EmergentWorld;
 import com.teddante.emergent.ReactiveCreeperTracker;
 
 import net.minecraft.entity.LivingEntity;
@@ -28,14 +29,10 @@ public abstract class ReactiveCreeperMixin {
                     // Set guard
                     tracker.emergent$setReacting(true);
 
-                    try {
-                        ((CreeperInvoker) creeper).invokeExplode();
-                    } finally {
-                        // We strictly don't need to unset it if it dies,
-                        // but for safety in case it survives (unlikely), we might.
-                        // However, keeping it true prevents infinite loops if it survives ticks.
-                        // So we leave it true. It's a one-way trip to boom town.
-                    }
+                    // Explode on a short fuse, batched with its neighbours (see CreeperReactions),
+                    // not inside the blast that hit it.
+                    // The guard stays set: it's a one-way trip to boom town.
+                    ((EmergentWorld) world).emergent$getCreeperReactions().enqueue(creeper);
 
                     cir.setReturnValue(false);
                 }
@@ -1,19 +1,154 @@
 package com.teddante.emergent.mixin;
 
+import com.teddante.emergent.ChainReaction;
+import com.teddante.emergent.CreeperReactions;
+import com.teddante.emergent.EmergentWorld;
+import com.teddante.emergent.ErosionStage;
+import com.teddante.emergent.Evaporation;
+import com.teddante.emergent.FireTrailEmitter;
+import com.teddante.emergent.FlammabilityCache;
+import com.teddante.emergent.RainAccumulator;
+import com.teddante.emergent.ServerExplosionWorld;
+import com.teddante.emergent.ServerFireWorld;
+import com.teddante.emergent.ServerWaterWorld;
+import com.teddante.emergent.VolatileContainerIndex;
+import com.teddante.emergent.WaterSolver;
+import com.teddante.emergent.WildfireManager;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
-import net.minecraft.block.FluidBlock;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.Heightmap;
-import net.minecraft.world.biome.Biome;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(ServerWorld.class)
-public abstract class ServerWorldMixin {
+public abstract class ServerWorldMixin implements EmergentWorld {
+
+    @Unique
+    private WaterSolver emergent$waterSolver;
+
+    @Unique
+    private ErosionStage emergent$erosionStage;
+
+    @Unique
+    private RainAccumulator emergent$rainAccumulator;
+
+    @Unique
+    private Evaporation emergent$evaporation;
+
+    @Unique
+    private ChainReaction emergent$chainReactions;
+
+    @Unique
+    private CreeperReactions emergent$creeperReactions;
+
+    @Unique
+    private FireTrailEmitter emergent$fireTrails;
+
+    @Unique
+    private FlammabilityCache emergent$flammability;
+
+    @Unique
+    private WildfireManager emergent$wildfires;
+
+    @Unique
+    private final VolatileContainerIndex emergent$volatileIndex = new VolatileContainerIndex();
+
+    @Override
+    public WaterSolver emergent$getWaterSolver() {
+        if (this.emergent$waterSolver == null) {
+            this.emergent$waterSolver = new WaterSolver(new ServerWaterWorld((ServerWorld) (Object) this));
+        }
+        return this.emergent$waterSolver;
+    }
+
+    @Override
+    public ErosionStage emergent$getErosionStage() {
+        if (this.emergent$erosionStage == null) {
+            this.emergent$erosionStage = new ErosionStage((ServerWorld) (Object) this);
+        }
+        return this.emergent$erosionStage;
+    }
+
+    @Override
+    public RainAccumulator emergent$getRainAccumulator() {
+        if (this.emergent$rainAccumulator == null) {
+            this.emergent$rainAccumulator = new RainAccumulator((ServerWorld) (Object) this,
+                    this.emergent$getWaterSolver());
+        }
+        return this.emergent$rainAccumulator;
+    }
+
+    @Override
+    public Evaporation emergent$getEvaporation() {
+        if (this.emergent$evaporation == null) {
+            this.emergent$evaporation = new Evaporation((ServerWorld) (Object) this, this.emergent$getWaterSolver());
+        }
+        return this.emergent$evaporation;
+    }
+
+    @Override
+    public ChainReaction emergent$getChainReactions() {
+        if (this.emergent$chainReactions == null) {
+            this.emergent$chainReactions = new ChainReaction(new ServerExplosionWorld((ServerWorld) (Object) this));
+        }
+        return this.emergent$chainReactions;
+    }
+
+    @Override
+    public CreeperReactions emergent$getCreeperReactions() {
+        if (this.emergent$creeperReactions == null) {
+            this.emergent$creeperReactions = new CreeperReactions((ServerWorld) (Object) this);
+        }
+        return this.emergent$creeperReactions;
+    }
+
+    @Override
+    public FireTrailEmitter emergent$getFireTrails() {
+        if (this.emergent$fireTrails == null) {
+            this.emergent$fireTrails = new FireTrailEmitter((ServerWorld) (Object) this,
+                    this.emergent$getFlammability());
+        }
+        return this.emergent$fireTrails;
+    }
+
+    @Override
+    public FlammabilityCache emergent$getFlammability() {
+        if (this.emergent$flammability == null) {
+            this.emergent$flammability = new FlammabilityCache(new ServerFireWorld((ServerWorld) (Object) this));
+        }
+        return this.emergent$flammability;
+    }
+
+    @Override
+    public WildfireManager emergent$getWildfires() {
+        if (this.emergent$wildfires == null) {
+            this.emergent$wildfires = new WildfireManager(new ServerFireWorld((ServerWorld) (Object) this),
+                    this.emergent$getFlammability());
+        }
+        return this.emergent$wildfires;
+    }
+
+    @Override
+    public VolatileContainerIndex emergent$getVolatileIndex() {
+        return this.emergent$volatileIndex;
+    }
+
+    /**
+     * Keep the water level storage, the rain column cache, the flammability
+     * bitsets and the wildfire counts in sync with block
+     * changes made by anything other than the water solver (players, pistons,
+     * explosions, other mods).
+     */
+    @Inject(method = "onBlockChanged", at = @At("TAIL"))
+    private void emergent$onBlockChanged(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+        this.emergent$getWaterSolver().onBlockChanged(pos, newBlock);
+        this.emergent$getRainAccumulator().onBlockChanged(pos);
+        this.emergent$getFlammability().onBlockChanged(pos, oldBlock, newBlock);
+        this.emergent$getWildfires().onBlockChanged(pos, oldBlock, newBlock);
+    }
 
     /**
      * @author Antigravity
@@ -21,34 +156,7 @@ public abstract class ServerWorldMixin {
      */
     @Inject(method = "tickIceAndSnow", at = @At("TAIL"))
     private void accumulateRain(BlockPos pos, CallbackInfo ci) {
-        @SuppressWarnings("resource")
-        ServerWorld serverWorld = (ServerWorld) (Object) this;
-
-        if (serverWorld.isRaining()) {
-            BlockPos topPos = serverWorld.getTopPosition(Heightmap.Type.MOTION_BLOCKING, pos);
-            Biome biome = serverWorld.getBiome(topPos).value();
-
-            // Only accumulate in biomes where it actually rains (not freezes)
-            if (biome.getPrecipitation(topPos, serverWorld.getSeaLevel()) == Biome.Precipitation.RAIN) {
-                BlockState state = serverWorld.getBlockState(topPos);
-
-                // If air, 10% chance to start a puddle
-                if (state.isAir()) {
-                    if (serverWorld.random.nextDouble() < 0.1) {
-                        // Start with level 1 water
-                        serverWorld.setBlockState(topPos, Blocks.WATER.getDefaultState().with(FluidBlock.LEVEL, 7));
-                    }
-                }
-                // If it's already water, 50% chance to increase level
-                else if (state.getBlock() == Blocks.WATER) {
-                    if (serverWorld.random.nextDouble() < 0.5) {
-                        int currentLevel = state.get(FluidBlock.LEVEL);
-                        if (currentLevel > 0) { // If not already a source block
-                            serverWorld.setBlockState(topPos, state.with(FluidBlock.LEVEL, currentLevel - 1));
-                        }
-                    }
-                }
-            }
-        }
+        // Only marks the chunk; placements are batched in RainAccumulator.tick
+        this.emergent$getRainAccumulator().onPrecipitationTick(pos);
     }
 }
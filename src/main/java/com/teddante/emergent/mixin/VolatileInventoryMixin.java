@@ -1,22 +1,22 @@
 package com.teddante.emergent.mixin;
 
+import com.teddante.emergent.EmergentWorld;
 import com.teddante.emergent.VolatileExplosionUtils;
+import com.teddante.emergent.VolatileInventory;
+import com.teddante.emergent.VolatileSummary;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.registry.tag.DamageTypeTags;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Mixin(LivingEntity.class)
 public abstract class VolatileInventoryMixin {
 
@@ -31,38 +31,35 @@ public abstract class VolatileInventoryMixin {
 
         if (isFire || isExplosion) {
             LivingEntity entity = (LivingEntity) (Object) this;
-            List<ItemStack> volatiles = new ArrayList<>();
+            double mass = 0.0;
 
+            // Remove items BEFORE exploding to prevent recursion (explosion -> damage ->
+            // check inventory -> explosion)
             if (entity instanceof PlayerEntity player) {
-                // Main Inventory
-                for (int i = 0; i < player.getInventory().size(); i++) {
-                    ItemStack stack = player.getInventory().getStack(i);
-                    if (VolatileExplosionUtils.isVolatile(stack)) {
-                        volatiles.add(stack);
-                    }
+                // Main Inventory: the cached summary answers without a slot scan
+                PlayerInventory inventory = player.getInventory();
+                VolatileSummary summary = ((VolatileInventory) inventory).emergent$getVolatileSummary();
+                if (summary.mayDetonate(inventory)) {
+                    mass = summary.drain(inventory);
                 }
             } else {
                 // Check Equipment
                 for (EquipmentSlot slot : EquipmentSlot.values()) {
                     ItemStack stack = entity.getEquippedStack(slot);
                     if (VolatileExplosionUtils.isVolatile(stack)) {
-                        volatiles.add(stack);
+                        double stackMass = VolatileExplosionUtils.tntEquivalent(stack);
+                        if (stackMass > 0) {
+                            mass += stackMass;
+                            stack.setCount(0);
+                        }
                     }
                 }
             }
 
-            if (!volatiles.isEmpty()) {
-                float power = VolatileExplosionUtils.calculateExplosionPower(volatiles);
-                if (power > 0) {
-                    // Remove items BEFORE exploding to prevent recursion (explosion -> damage ->
-                    // check inventory -> explosion)
-                    for (ItemStack stack : volatiles) {
-                        stack.setCount(0);
-                    }
-
-                    world.createExplosion(null, entity.getX(), entity.getY(), entity.getZ(), power,
-                            World.ExplosionSourceType.TNT);
-                }
+            if (mass > 0) {
+                // Goes off at the end of the tick, merged with blasts next to it (see ChainReaction)
+                ((EmergentWorld) world).emergent$getChainReactions().enqueue(entity.getX(), entity.getY(),
+                        entity.getZ(), mass, "inventory");
             }
         }
     }